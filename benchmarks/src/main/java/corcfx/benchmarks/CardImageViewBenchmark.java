@@ -0,0 +1,86 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.benchmarks;
+
+import corc.base.standard.Card;
+import corcfx.visual.CardImageCache;
+import corcfx.visual.CardImageView;
+import corcfx.visual.CardUrlResolver;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the construction of a {@link CardImageView}, with its
+ * images already in the {@link CardImageCache} and with a cold cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardImageViewBenchmark {
+
+    private List<Card> deck;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        FxPlatform.start();
+        this.deck = Cards.deck();
+    }
+
+    @Setup(Level.Invocation)
+    public void nextCard() {
+        this.next = (this.next + 1) % this.deck.size();
+    }
+
+    @Benchmark
+    public CardImageView<Card> constructCached() {
+        return new CardImageView<>(this.deck.get(this.next), CardUrlResolver.STANDARD_CARD_RESOLVER);
+    }
+
+    @Benchmark
+    public CardImageView<Card> constructFaceDownCached() {
+        return new CardImageView<>(this.deck.get(this.next), CardUrlResolver.STANDARD_CARD_RESOLVER, false);
+    }
+
+    /**
+     * Constructs a CardImageView after clearing the cache, so the
+     * front image is decoded every time.
+     */
+    @Benchmark
+    public CardImageView<Card> constructCold() {
+        CardImageCache.clear();
+        return new CardImageView<>(this.deck.get(this.next), CardUrlResolver.STANDARD_CARD_RESOLVER);
+    }
+}
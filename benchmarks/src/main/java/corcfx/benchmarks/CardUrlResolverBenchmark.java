@@ -0,0 +1,85 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.benchmarks;
+
+import corc.base.standard.Card;
+import corcfx.experimental.CardImageView;
+import corcfx.visual.CardUrlResolver;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures resolving card image URLs directly through a
+ * {@link CardUrlResolver} and through the class-keyed dispatch of the
+ * experimental {@link CardImageView}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardUrlResolverBenchmark {
+
+    private List<Card> deck;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.deck = Cards.deck();
+    }
+
+    private Card nextCard() {
+        this.next = (this.next + 1) % this.deck.size();
+        return this.deck.get(this.next);
+    }
+
+    @Benchmark
+    public String standardFront() {
+        return CardUrlResolver.STANDARD_CARD_RESOLVER.getCardFrontURL(this.nextCard());
+    }
+
+    @Benchmark
+    public String standardBack() {
+        return CardUrlResolver.STANDARD_CARD_RESOLVER.getCardBackURL(this.nextCard());
+    }
+
+    @Benchmark
+    public String experimentalDispatchFront() {
+        return CardImageView.getCardFrontURL(this.nextCard());
+    }
+
+    @Benchmark
+    public String experimentalDispatchBack() {
+        return CardImageView.getCardBackURL(this.nextCard());
+    }
+}
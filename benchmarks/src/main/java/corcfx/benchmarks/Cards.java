@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.benchmarks;
+
+import corc.base.standard.Card;
+import corc.base.standard.Face;
+import corc.base.standard.Suit;
+import corcfx.visual.CardUrlResolver;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The standard cards used by the benchmarks.
+ */
+final class Cards {
+
+    private Cards() {
+    }
+
+    /**
+     * Creates every standard {@link Card} that has an included front
+     * image, in face then suit order.
+     *
+     * @return the cards.
+     */
+    static List<Card> deck() {
+        List<Card> deck = new ArrayList<>();
+        ClassLoader loader = Cards.class.getClassLoader();
+        for (Face face : Face.values()) {
+            for (Suit suit : Suit.values()) {
+                Card card = new Card(face, suit);
+                if (loader.getResource(CardUrlResolver.STANDARD_CARD_RESOLVER.getCardFrontURL(card)) != null) {
+                    deck.add(card);
+                }
+            }
+        }
+        if (deck.isEmpty()) {
+            throw new IllegalStateException("No card images found on the classpath.");
+        }
+        return deck;
+    }
+
+    /**
+     * Takes the specified number of cards from the deck, repeating it
+     * if needed.
+     *
+     * @param deck  the deck.
+     * @param count the number of cards.
+     * @return the cards.
+     */
+    static List<Card> take(List<Card> deck, int count) {
+        List<Card> cards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cards.add(deck.get(i % deck.size()));
+        }
+        return cards;
+    }
+}
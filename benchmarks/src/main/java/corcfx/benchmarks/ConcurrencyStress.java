@@ -0,0 +1,374 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.benchmarks;
+
+import corc.base.standard.Card;
+import corc.structure.CardsetListener;
+import corcfx.visual.CardImageView;
+import corcfx.visual.VisualHand;
+import corcfx.visual.interactable.HorizontalOrganizablePane;
+import corcfx.visual.interactable.OptionPanel;
+import corcfx.visual.standard.interactable.HumanVisualHand;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.layout.FlowPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.stage.Stage;
+
+/**
+ * Randomized concurrency stress of the Thread hand-offs of
+ * {@link VisualHand} and {@link OptionPanel}.
+ * <p>
+ * Every round runs a random schedule with a fresh seed:
+ * <ul>
+ * <li>Several model Threads share a VisualHand and a
+ * {@link HumanVisualHand}, each adding and removing its own cards
+ * through the shared {@link CardsetListener}, calling
+ * {@link VisualHand#setCards(List)} or making changes on the FXThread,
+ * while the FXThread randomly suspends and resumes the hands.</li>
+ * <li>Several Threads wait on {@link OptionPanel#getOptionClicked()}
+ * while some of them are interrupted, and a random option is
+ * clicked.</li>
+ * </ul>
+ * A round fails on a Thread that does not finish in time (a deadlock
+ * or lost wakeup, reported with a Thread dump), on a hand whose
+ * {@link CardImageView}s differ from its cards, and on a waiter that
+ * receives the wrong option or loses its interrupt status.
+ * <p>
+ * Options are passed as key=value arguments:
+ * <pre>
+ * rounds=200 threads=4 seed=1 timeout=10
+ * </pre>
+ * The process exits with status 1 if any round failed.
+ */
+public final class ConcurrencyStress {
+
+    private static final String[] OPTIONS = {"Fold", "Check", "Call", "Raise"};
+
+    private ConcurrencyStress() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int split = arg.indexOf('=');
+            options.put(arg.substring(0, split), arg.substring(split + 1));
+        }
+        int rounds = Integer.parseInt(options.getOrDefault("rounds", "200"));
+        int threadCount = Integer.parseInt(options.getOrDefault("threads", "4"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+        long timeoutSeconds = Long.parseLong(options.getOrDefault("timeout", "10"));
+
+        FxPlatform.start();
+        List<VisualHand<Card>> hands = new ArrayList<>();
+        StressOptionPanel[] panel = new StressOptionPanel[1];
+        FxPlatform.runAndWait(() -> {
+            hands.add(new corcfx.visual.standard.VisualHand(new HBox()));
+            hands.add(new HumanVisualHand(new HorizontalOrganizablePane(-40, -20)));
+            panel[0] = new StressOptionPanel();
+            // The panel is not shown: its Threads only meet through the
+            // pending option, and clicks are fired directly.
+            FlowPane root = new FlowPane();
+            root.getChildren().addAll(hands);
+            Stage stage = new Stage();
+            stage.setScene(new Scene(root, 800, 600));
+            stage.show();
+        });
+
+        List<Card> deck = Cards.deck();
+        int failures = 0;
+        for (int round = 0; round < rounds; round++) {
+            long roundSeed = seed * 1_000_003L + round;
+            List<String> errors = new ArrayList<>();
+            for (VisualHand<Card> hand : hands) {
+                errors.addAll(runHandRound(hand, deck, threadCount, new Random(roundSeed), timeoutSeconds));
+            }
+            errors.addAll(runOptionRound(panel[0], threadCount, new Random(roundSeed), timeoutSeconds));
+            if (!errors.isEmpty()) {
+                failures++;
+                System.err.println("Round " + round + " (seed " + roundSeed + ") failed:");
+                for (String error : errors) {
+                    System.err.println("  " + error);
+                }
+            }
+        }
+
+        System.out.printf("%d rounds, %d threads: %d failed%n", rounds, threadCount, failures);
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    /**
+     * Runs one random schedule of concurrent changes against the hand
+     * and checks that the hand shows exactly the cards of the model.
+     */
+    private static List<String> runHandRound(VisualHand<Card> hand, List<Card> deck, int threadCount,
+                                             Random random, long timeoutSeconds) throws InterruptedException {
+        List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        CardsetListener<Card> listener = hand.getCardsetListener();
+        FxPlatform.runAndWait(() -> hand.setCards(Collections.emptyList()));
+
+        List<Thread> threads = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threadCount; t++) {
+            List<Card> owned = new ArrayList<>();
+            for (int i = t; i < deck.size(); i += threadCount) {
+                owned.add(deck.get(i));
+            }
+            long threadSeed = random.nextLong();
+            threads.add(new Thread(() -> {
+                Random threadRandom = new Random(threadSeed);
+                List<Card> held = new ArrayList<>();
+                try {
+                    start.await();
+                    for (int step = 0; step < 40; step++) {
+                        List<Card> free = new ArrayList<>(owned);
+                        free.removeAll(held);
+                        if (!free.isEmpty() && (held.isEmpty() || threadRandom.nextBoolean())) {
+                            List<Card> cards = pick(free, threadRandom);
+                            held.addAll(cards);
+                            if (threadRandom.nextInt(8) == 0) {
+                                FxPlatform.runAndWait(() -> listener.cardsAdded(cards));
+                            } else {
+                                listener.cardsAdded(cards);
+                            }
+                        } else {
+                            List<Card> cards = pick(held, threadRandom);
+                            held.removeAll(cards);
+                            listener.cardsRemoved(cards);
+                        }
+                        if (threadRandom.nextInt(4) == 0) {
+                            Thread.yield();
+                        }
+                    }
+                    if (!held.isEmpty()) {
+                        listener.cardsRemoved(new ArrayList<>(held));
+                    }
+                } catch (Throwable e) {
+                    errors.add(Thread.currentThread().getName() + " failed: " + e);
+                }
+            }, "Model " + t));
+        }
+
+        Thread toggler = new Thread(() -> {
+            try {
+                start.await();
+                for (int i = 0; i < 10; i++) {
+                    boolean suspend = random.nextBoolean();
+                    FxPlatform.runAndWait(() -> hand.setSuspended(suspend));
+                    Thread.sleep(random.nextInt(3));
+                }
+                FxPlatform.runAndWait(() -> hand.setSuspended(false));
+            } catch (Throwable e) {
+                errors.add("Suspension toggler failed: " + e);
+            }
+        }, "Suspension toggler");
+
+        threads.add(toggler);
+        for (Thread thread : threads) {
+            thread.setDaemon(true);
+            thread.start();
+        }
+        start.countDown();
+        if (!joinAll(threads, timeoutSeconds, errors)) {
+            return errors;
+        }
+
+        // Every model Thread removed its cards, so the hand is empty.
+        FxPlatform.runAndWait(() -> errors.addAll(checkHand(hand, Collections.emptyList())));
+
+        // A whole hand published at once, from a model Thread.
+        List<Card> published = pick(deck, random);
+        Thread publisher = new Thread(() -> hand.setCards(published), "Publisher");
+        publisher.setDaemon(true);
+        publisher.start();
+        if (joinAll(Collections.singletonList(publisher), timeoutSeconds, errors)) {
+            FxPlatform.runAndWait(() -> errors.addAll(checkHand(hand, published)));
+        }
+        return errors;
+    }
+
+    /**
+     * Runs one round of Threads waiting for the same click, with some
+     * of them interrupted while waiting.
+     */
+    private static List<String> runOptionRound(StressOptionPanel panel, int threadCount, Random random,
+                                               long timeoutSeconds) throws InterruptedException {
+        List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> waiters = new ArrayList<>();
+        Map<Thread, AtomicReference<String>> received = new HashMap<>();
+        Map<Thread, Boolean> interruptStatus = Collections.synchronizedMap(new HashMap<>());
+        for (int t = 0; t < threadCount; t++) {
+            AtomicReference<String> result = new AtomicReference<>();
+            Thread waiter = new Thread(() -> {
+                result.set(panel.waitForOption());
+                interruptStatus.put(Thread.currentThread(), Thread.currentThread().isInterrupted());
+            }, "Waiter " + t);
+            waiter.setDaemon(true);
+            received.put(waiter, result);
+            waiters.add(waiter);
+            waiter.start();
+        }
+
+        // Clicks made before a Thread waits are ignored, so only click
+        // once every waiter is parked.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        for (Thread waiter : waiters) {
+            while (waiter.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+        }
+        List<Thread> interrupted = new ArrayList<>();
+        for (Thread waiter : waiters) {
+            if (random.nextInt(3) == 0) {
+                waiter.interrupt();
+                interrupted.add(waiter);
+            }
+        }
+        int choice = random.nextInt(OPTIONS.length);
+        FxPlatform.runAndWait(() -> panel.click(choice));
+
+        if (!joinAll(waiters, timeoutSeconds, errors)) {
+            return errors;
+        }
+        for (Thread waiter : waiters) {
+            String option = received.get(waiter).get();
+            if (!OPTIONS[choice].equals(option)) {
+                errors.add(waiter.getName() + " received " + option + " instead of " + OPTIONS[choice]);
+            }
+            boolean expectInterrupted = interrupted.contains(waiter);
+            if (interruptStatus.get(waiter) != expectInterrupted) {
+                errors.add(waiter.getName() + " interrupt status " + interruptStatus.get(waiter) +
+                        ", expected " + expectInterrupted);
+            }
+        }
+        return errors;
+    }
+
+    private static List<Card> pick(List<Card> cards, Random random) {
+        List<Card> copy = new ArrayList<>(cards);
+        Collections.shuffle(copy, random);
+        return new ArrayList<>(copy.subList(0, 1 + random.nextInt(Math.min(5, copy.size()))));
+    }
+
+    /**
+     * Compares the {@link CardImageView}s of the hand, its recorded
+     * cards and the expected cards, as multisets. MUST be called on
+     * the FXThread.
+     */
+    private static List<String> checkHand(VisualHand<Card> hand, List<Card> expected) {
+        List<String> errors = new ArrayList<>();
+        Map<Card, Integer> shown = new HashMap<>();
+        for (Node child : ((Pane) hand.getCenter()).getChildren()) {
+            if (child instanceof CardImageView) {
+                //noinspection unchecked
+                shown.merge(((CardImageView<Card>) child).getCard(), 1, Integer::sum);
+            }
+        }
+        Map<Card, Integer> recorded = count(hand.getCards());
+        Map<Card, Integer> wanted = count(expected);
+        String name = hand.getClass().getSimpleName();
+        if (!recorded.equals(wanted)) {
+            errors.add(name + " recorded " + recorded.size() + " distinct cards, expected " + wanted.size());
+        }
+        if (!shown.equals(recorded)) {
+            errors.add(name + " shows " + shown + " but recorded " + recorded);
+        }
+        return errors;
+    }
+
+    private static Map<Card, Integer> count(List<Card> cards) {
+        Map<Card, Integer> counts = new HashMap<>();
+        for (Card card : cards) {
+            counts.merge(card, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * Joins the Threads, reporting a Thread dump for any that did not
+     * finish within the timeout.
+     */
+    private static boolean joinAll(List<Thread> threads, long timeoutSeconds, List<String> errors)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        boolean finished = true;
+        for (Thread thread : threads) {
+            thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            if (thread.isAlive()) {
+                finished = false;
+                errors.add(thread.getName() + " did not finish: deadlock or lost wakeup");
+            }
+        }
+        if (!finished) {
+            StringBuilder dump = new StringBuilder("Thread dump:\n");
+            for (ThreadInfo info : ManagementFactory.getThreadMXBean().dumpAllThreads(true, true)) {
+                dump.append(info);
+            }
+            errors.add(dump.toString());
+        }
+        return finished;
+    }
+
+    /**
+     * Exposes the blocking wait and the option Buttons of an
+     * {@link OptionPanel}.
+     */
+    private static final class StressOptionPanel extends OptionPanel<String> {
+
+        private StressOptionPanel() {
+            super(OPTIONS);
+        }
+
+        private String waitForOption() {
+            return this.getOptionClicked();
+        }
+
+        private void click(int index) {
+            List<Button> buttons = new ArrayList<>();
+            collectButtons(this, buttons);
+            buttons.get(index).fire();
+        }
+
+        private static void collectButtons(Parent parent, List<Button> buttons) {
+            for (Node child : parent.getChildrenUnmodifiable()) {
+                if (child instanceof Button) {
+                    buttons.add((Button) child);
+                } else if (child instanceof Parent) {
+                    collectButtons((Parent) child, buttons);
+                }
+            }
+        }
+    }
+}
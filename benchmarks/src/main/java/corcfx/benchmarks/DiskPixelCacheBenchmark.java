@@ -0,0 +1,94 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.benchmarks;
+
+import corc.base.standard.Card;
+import corcfx.visual.CardImageCache;
+import corcfx.visual.CardUrlResolver;
+import corcfx.visual.DiskPixelCache;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.image.Image;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures loading a card front image by decoding its PNG against
+ * reading its pixels from a {@link DiskPixelCache}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiskPixelCacheBenchmark {
+
+    private final List<String> urls = new ArrayList<>();
+    private DiskPixelCache disk;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException, IOException {
+        FxPlatform.start();
+        this.disk = new DiskPixelCache(Files.createTempDirectory("corcfx-pixels"));
+        for (Card card : Cards.deck()) {
+            String url = CardUrlResolver.STANDARD_CARD_RESOLVER.getCardFrontURL(card);
+            this.urls.add(url);
+            this.disk.store(url, 0, 0, new Image(url));
+        }
+        CardImageCache.setDiskCache(null);
+    }
+
+    @Setup(Level.Invocation)
+    public void nextCard() {
+        this.next = (this.next + 1) % this.urls.size();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        this.disk.clear();
+        Files.deleteIfExists(this.disk.getDirectory());
+    }
+
+    @Benchmark
+    public Image decode() {
+        return new Image(this.urls.get(this.next));
+    }
+
+    @Benchmark
+    public Image loadFromDisk() {
+        return this.disk.load(this.urls.get(this.next), 0, 0);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.benchmarks;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import javafx.application.Platform;
+
+/**
+ * Starts the JavaFX toolkit for the benchmarks and runs work on the
+ * FXThread.
+ * <p>
+ * Unless already set, the toolkit is configured to run headless
+ * through Monocle with the software renderer, so the benchmarks need
+ * no display.
+ */
+final class FxPlatform {
+
+    private static boolean started;
+
+    private FxPlatform() {
+    }
+
+    /**
+     * Starts the JavaFX toolkit, if it was not started yet.
+     */
+    static synchronized void start() throws InterruptedException {
+        if (started) {
+            return;
+        }
+        setDefault("glass.platform", "Monocle");
+        setDefault("monocle.platform", "Headless");
+        setDefault("prism.order", "sw");
+        setDefault("java.awt.headless", "true");
+
+        CountDownLatch latch = new CountDownLatch(1);
+        Platform.setImplicitExit(false);
+        Platform.startup(latch::countDown);
+        latch.await();
+        started = true;
+    }
+
+    /**
+     * Runs the task on the FXThread and waits for it to finish.
+     *
+     * @param task the task to run.
+     */
+    static void runAndWait(Runnable task) {
+        if (Platform.isFxApplicationThread()) {
+            task.run();
+            return;
+        }
+        FutureTask<Void> future = new FutureTask<>(task, null);
+        Platform.runLater(future);
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the FXThread.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Task failed on the FXThread.", e.getCause());
+        }
+    }
+
+    private static void setDefault(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.benchmarks;
+
+import corc.base.standard.Card;
+import corcfx.visual.CardImageView;
+import corcfx.visual.CardUrlResolver;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.Pane;
+import javafx.stage.Stage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures rendering a zoomed-out spectator view of many tables of
+ * {@link CardImageView}s, with and without level of detail.
+ * <p>
+ * The view is shown on a Stage, as levels are updated by the pulses
+ * of its Scene.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelOfDetailBenchmark {
+
+    private static final int TABLES = 16;
+    private static final int COLUMNS = 4;
+
+    @Param({"false", "true"})
+    public boolean levelOfDetail;
+
+    @Param({"0.25"})
+    public double zoom;
+
+    private Group view;
+    private WritableImage target;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        FxPlatform.start();
+        List<Card> deck = Cards.deck();
+        FxPlatform.runAndWait(() -> {
+            Pane tables = new Pane();
+            for (int t = 0; t < TABLES; t++) {
+                Pane table = new Pane();
+                for (int i = 0; i < deck.size(); i++) {
+                    CardImageView<Card> civ = new CardImageView<>(deck.get(i), CardUrlResolver.STANDARD_CARD_RESOLVER);
+                    civ.relocate((i % 13) * 24, (i / 13) * 100);
+                    civ.setLevelOfDetailEnabled(this.levelOfDetail);
+                    table.getChildren().add(civ);
+                }
+                table.relocate((t % COLUMNS) * 400, (t / COLUMNS) * 420);
+                tables.getChildren().add(table);
+            }
+            tables.setScaleX(this.zoom);
+            tables.setScaleY(this.zoom);
+            this.view = new Group(tables);
+            Stage stage = new Stage();
+            stage.setScene(new Scene(this.view));
+            stage.show();
+            this.target = new WritableImage(
+                    (int) Math.ceil(this.view.getBoundsInParent().getWidth()),
+                    (int) Math.ceil(this.view.getBoundsInParent().getHeight()));
+        });
+        // Lets the levels be chosen and the smaller images be decoded
+        // before measuring.
+        Thread.sleep(1000);
+    }
+
+    @Benchmark
+    public WritableImage render() {
+        FxPlatform.runAndWait(() -> this.view.snapshot(new SnapshotParameters(), this.target));
+        return this.target;
+    }
+}
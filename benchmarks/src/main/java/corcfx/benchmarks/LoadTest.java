@@ -0,0 +1,338 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.benchmarks;
+
+import corc.base.standard.Card;
+import corc.structure.CardsetListener;
+import corcfx.structure.RenderStatistics;
+import corcfx.structure.RenderStatsMonitor;
+import corcfx.visual.CardTransferPool;
+import corcfx.visual.VisualHand;
+import corcfx.visual.interactable.HorizontalOrganizablePane;
+import corcfx.visual.standard.interactable.HumanVisualHand;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javafx.scene.Scene;
+import javafx.scene.layout.FlowPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.stage.Stage;
+
+/**
+ * A headless end-to-end load test of {@link VisualHand}s.
+ * <p>
+ * Every table has its own model Thread which deals a deck to its
+ * player hands, plays cards one at a time onto a trick hand and clears
+ * the trick, through the built-in {@link CardsetListener}s, as fast as
+ * the hands accept the changes. The first player of every table is a
+ * {@link HumanVisualHand}; the other hands are plain VisualHands. All
+ * tables are shown in a single Stage on the headless toolkit.
+ * <p>
+ * The report covers throughput, listener latency percentiles,
+ * allocation rate, garbage collection and the peak node count. The
+ * process exits with status 1 if a model Thread failed or any hand
+ * does not show exactly the cards it was given.
+ * <p>
+ * Options are passed as key=value arguments:
+ * <pre>
+ * tables=8 players=4 seconds=30 pool=true seed=1
+ * </pre>
+ */
+public final class LoadTest {
+
+    private static final int MAX_LATENCY_SAMPLES = 4_000_000;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int tableCount = Integer.parseInt(options.getOrDefault("tables", "8"));
+        int playerCount = Integer.parseInt(options.getOrDefault("players", "4"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "30"));
+        boolean usePool = Boolean.parseBoolean(options.getOrDefault("pool", "true"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+
+        FxPlatform.start();
+        List<Table> tables = new ArrayList<>();
+        RenderStatsMonitor[] monitor = new RenderStatsMonitor[1];
+        FxPlatform.runAndWait(() -> {
+            FlowPane root = new FlowPane();
+            for (int i = 0; i < tableCount; i++) {
+                Table table = new Table(i, playerCount, usePool, seed + i);
+                tables.add(table);
+                root.getChildren().addAll(table.hands);
+            }
+            Stage stage = new Stage();
+            stage.setScene(new Scene(root, 1280, 800));
+            stage.show();
+            monitor[0] = new RenderStatsMonitor(root);
+            monitor[0].start();
+        });
+
+        AtomicInteger peakNodes = new AtomicInteger();
+        AtomicInteger peakPending = new AtomicInteger();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "LoadTest sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleAtFixedRate(() -> {
+            RenderStatistics statistics = monitor[0].getLatest();
+            if (statistics != null) {
+                peakNodes.accumulateAndGet(statistics.getNodeCount(), Math::max);
+            }
+            peakPending.accumulateAndGet(VisualHand.getPendingOperationCount(), Math::max);
+        }, 0, 100, TimeUnit.MILLISECONDS);
+
+        long allocatedBefore = allocatedBytes();
+        long gcCountBefore = gcCount();
+        long gcTimeBefore = gcTimeMillis();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+
+        List<Thread> threads = new ArrayList<>();
+        for (Table table : tables) {
+            Thread thread = new Thread(() -> table.run(deadline), "LoadTest table " + table.id);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+        long gcCount = gcCount() - gcCountBefore;
+        long gcTime = gcTimeMillis() - gcTimeBefore;
+        sampler.shutdownNow();
+
+        List<String> mismatches = new ArrayList<>();
+        FxPlatform.runAndWait(() -> {
+            for (Table table : tables) {
+                for (VisualHand<Card> hand : table.hands) {
+                    int views = ((Pane) hand.getCenter()).getChildren().size();
+                    int cards = hand.getCards().size();
+                    if (views != cards) {
+                        mismatches.add(hand.getId() + " shows " + views + " views for " + cards + " cards");
+                    }
+                }
+            }
+            monitor[0].stop();
+        });
+        RenderStatistics last = monitor[0].getLatest();
+
+        long calls = 0;
+        long cards = 0;
+        int failures = 0;
+        long[] latencies = new long[0];
+        for (Table table : tables) {
+            calls += table.calls;
+            cards += table.cardsMoved;
+            failures += table.failure == null ? 0 : 1;
+            int offset = latencies.length;
+            latencies = Arrays.copyOf(latencies, offset + table.sampleCount);
+            System.arraycopy(table.latencies, 0, latencies, offset, table.sampleCount);
+        }
+        Arrays.sort(latencies);
+
+        double elapsedSeconds = elapsed / 1_000_000_000.0;
+        System.out.printf("Tables: %d x %d players + trick, %d s, transfer pool %s%n",
+                tableCount, playerCount, seconds, usePool ? "on" : "off");
+        System.out.printf("Throughput: %.0f listener calls/s, %.0f cards/s%n",
+                calls / elapsedSeconds, cards / elapsedSeconds);
+        System.out.printf("Listener latency (us): p50 %.1f, p90 %.1f, p99 %.1f, p99.9 %.1f, max %.1f%n",
+                percentileMicros(latencies, 0.50), percentileMicros(latencies, 0.90),
+                percentileMicros(latencies, 0.99), percentileMicros(latencies, 0.999),
+                percentileMicros(latencies, 1.0));
+        System.out.printf("Allocation: %.1f MB/s (%.1f MB total)%n",
+                allocated / elapsedSeconds / (1024 * 1024), allocated / (1024.0 * 1024.0));
+        System.out.printf("GC: %d collections, %d ms%n", gcCount, gcTime);
+        System.out.printf("Peak nodes: %d, peak pending hand operations: %d%n", peakNodes.get(), peakPending.get());
+        if (last != null) {
+            System.out.println(last);
+        }
+
+        for (Table table : tables) {
+            if (table.failure != null) {
+                System.err.println("Table " + table.id + " failed:");
+                table.failure.printStackTrace();
+            }
+        }
+        for (String mismatch : mismatches) {
+            System.err.println("Mismatch: " + mismatch);
+        }
+        System.exit(failures == 0 && mismatches.isEmpty() ? 0 : 1);
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int split = arg.indexOf('=');
+            if (split < 0) {
+                throw new IllegalArgumentException("Expected key=value: " + arg);
+            }
+            options.put(arg.substring(0, split), arg.substring(split + 1));
+        }
+        return options;
+    }
+
+    private static double percentileMicros(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1000.0;
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return 0;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        long total = 0;
+        for (long allocated : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            total += Math.max(0, allocated);
+        }
+        return total;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, bean.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcTimeMillis() {
+        long time = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0, bean.getCollectionTime());
+        }
+        return time;
+    }
+
+    /**
+     * A synthetic table: player hands and a trick hand, driven by one
+     * model Thread.
+     */
+    private static final class Table {
+
+        private final int id;
+        private final List<VisualHand<Card>> hands = new ArrayList<>();
+        private final List<CardsetListener<Card>> listeners = new ArrayList<>();
+        private final List<List<Card>> model = new ArrayList<>();
+        private final Random random;
+
+        private long[] latencies = new long[1024];
+        private int sampleCount;
+        private long calls;
+        private long cardsMoved;
+        private volatile Throwable failure;
+
+        private Table(int id, int playerCount, boolean usePool, long seed) {
+            this.id = id;
+            this.random = new Random(seed);
+            CardTransferPool<Card> pool = usePool ? new CardTransferPool<>(64) : null;
+            for (int i = 0; i <= playerCount; i++) {
+                VisualHand<Card> hand = i == 0
+                        ? new HumanVisualHand(new HorizontalOrganizablePane(-40, -20))
+                        : new corcfx.visual.standard.VisualHand(new HBox(-40));
+                hand.setId("table-" + id + "-hand-" + i);
+                hand.setTransferPool(pool);
+                this.hands.add(hand);
+                this.listeners.add(hand.getCardsetListener());
+                this.model.add(new ArrayList<>());
+            }
+        }
+
+        private void run(long deadline) {
+            try {
+                List<Card> deck = Cards.deck();
+                int players = this.hands.size() - 1;
+                int trick = players;
+                while (System.nanoTime() < deadline) {
+                    Collections.shuffle(deck, this.random);
+                    int perPlayer = deck.size() / players;
+                    for (int p = 0; p < players; p++) {
+                        this.add(p, new ArrayList<>(deck.subList(p * perPlayer, (p + 1) * perPlayer)));
+                    }
+                    while (!this.model.get(0).isEmpty() && System.nanoTime() < deadline) {
+                        for (int p = 0; p < players; p++) {
+                            List<Card> hand = this.model.get(p);
+                            Card card = hand.get(this.random.nextInt(hand.size()));
+                            this.remove(p, Collections.singletonList(card));
+                            this.add(trick, Collections.singletonList(card));
+                        }
+                        this.remove(trick, new ArrayList<>(this.model.get(trick)));
+                    }
+                    for (int p = 0; p <= players; p++) {
+                        if (!this.model.get(p).isEmpty()) {
+                            this.remove(p, new ArrayList<>(this.model.get(p)));
+                        }
+                    }
+                }
+            } catch (Throwable t) {
+                this.failure = t;
+            }
+        }
+
+        private void add(int hand, List<Card> cards) {
+            this.model.get(hand).addAll(cards);
+            long start = System.nanoTime();
+            this.listeners.get(hand).cardsAdded(cards);
+            this.record(System.nanoTime() - start, cards.size());
+        }
+
+        private void remove(int hand, List<Card> cards) {
+            this.model.get(hand).removeAll(cards);
+            long start = System.nanoTime();
+            this.listeners.get(hand).cardsRemoved(cards);
+            this.record(System.nanoTime() - start, cards.size());
+        }
+
+        private void record(long latency, int cards) {
+            this.calls++;
+            this.cardsMoved += cards;
+            if (this.sampleCount == MAX_LATENCY_SAMPLES) {
+                return;
+            }
+            if (this.sampleCount == this.latencies.length) {
+                this.latencies = Arrays.copyOf(this.latencies, Math.min(MAX_LATENCY_SAMPLES, this.sampleCount * 2));
+            }
+            this.latencies[this.sampleCount++] = latency;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.benchmarks;
+
+import corc.base.standard.Card;
+import corcfx.visual.CardImageView;
+import corcfx.visual.CardUrlResolver;
+import corcfx.visual.interactable.FanOrganizablePane;
+import corcfx.visual.interactable.GridOrganizablePane;
+import corcfx.visual.interactable.HorizontalOrganizablePane;
+import corcfx.visual.interactable.LayoutOrganizablePane;
+import corcfx.visual.interactable.OrganizablePane;
+import corcfx.visual.interactable.VerticalOrganizablePane;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a full ordering pass of an {@link OrganizablePane} holding
+ * a hand of {@link CardImageView}s, for each pane at several hand
+ * sizes.
+ * <p>
+ * The panes are not shown and have no
+ * {@link corcfx.visual.LayoutAnimator}, so every pass places every
+ * child directly.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderChildrenBenchmark {
+
+    @Param({"5", "13", "26", "52"})
+    public int handSize;
+
+    @Param({"horizontal", "vertical", "fan", "grid"})
+    public String pane;
+
+    private OrganizablePane organizablePane;
+    private Runnable orderChildren;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        FxPlatform.start();
+        switch (this.pane) {
+            case "horizontal":
+                OrderablePane horizontal = new OrderablePane();
+                this.orderChildren = horizontal::order;
+                this.organizablePane = horizontal;
+                break;
+            case "vertical":
+                this.organizablePane = new VerticalOrganizablePane(30, 20);
+                break;
+            case "fan":
+                this.organizablePane = new FanOrganizablePane(400, 4, 90, 20);
+                break;
+            case "grid":
+                this.organizablePane = new GridOrganizablePane(13, 80, 110, -20);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown pane: " + this.pane);
+        }
+        if (this.orderChildren == null) {
+            LayoutOrganizablePane layoutPane = (LayoutOrganizablePane) this.organizablePane;
+            this.orderChildren = layoutPane::invalidateLayout;
+        }
+
+        for (Card card : Cards.take(Cards.deck(), this.handSize)) {
+            this.organizablePane.getChildren().add(new CardImageView<>(card, CardUrlResolver.STANDARD_CARD_RESOLVER));
+        }
+    }
+
+    @Benchmark
+    public OrganizablePane orderChildren() {
+        this.orderChildren.run();
+        return this.organizablePane;
+    }
+
+    /**
+     * Exposes the ordering pass of the {@link HorizontalOrganizablePane}.
+     */
+    static final class OrderablePane extends HorizontalOrganizablePane {
+
+        OrderablePane() {
+            super(-40, -20);
+        }
+
+        void order() {
+            this.orderChildren();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.benchmarks;
+
+import corc.base.standard.Card;
+import corcfx.visual.CardImageCache;
+import corcfx.visual.CardImagePrefetcher;
+import corcfx.visual.CardUrlResolver;
+import corcfx.visual.standard.VisualHand;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.layout.HBox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures dealing a shuffled deck, one card at a time, to four
+ * {@link VisualHand}s with a cold {@link CardImageCache}, with and
+ * without a {@link CardImagePrefetcher}.
+ * <p>
+ * The model pauses for {@code dealIntervalMillis} after each card, as
+ * a dealing animation would; the pauses are included in the score.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PrefetchBenchmark {
+
+    private static final int HANDS = 4;
+
+    @Param({"false", "true"})
+    public boolean prefetch;
+
+    @Param({"0", "2"})
+    public int dealIntervalMillis;
+
+    private final List<VisualHand> hands = new ArrayList<>();
+    private final Random random = new Random(42);
+    private CardImagePrefetcher<Card> prefetcher;
+    private List<Card> deck;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        FxPlatform.start();
+        this.deck = Cards.deck();
+        this.prefetcher = new CardImagePrefetcher<>(CardUrlResolver.STANDARD_CARD_RESOLVER);
+        FxPlatform.runAndWait(() -> {
+            for (int i = 0; i < HANDS; i++) {
+                VisualHand hand = new VisualHand(new HBox());
+                hand.setAutoSuspend(false);
+                this.hands.add(hand);
+            }
+        });
+    }
+
+    @Setup(Level.Iteration)
+    public void shuffle() {
+        for (VisualHand hand : this.hands) {
+            hand.setCards(Collections.emptyList());
+            hand.setPrefetcher(this.prefetcher);
+        }
+        CardImageCache.clear();
+        Collections.shuffle(this.deck, this.random);
+        this.prefetcher.setUpcoming(this.prefetch ? this.deck : Collections.emptyList());
+    }
+
+    @Benchmark
+    public int deal() throws InterruptedException {
+        for (int i = 0; i < this.deck.size(); i++) {
+            this.hands.get(i % HANDS).getCardsetListener().cardsAdded(Collections.singletonList(this.deck.get(i)));
+            if (this.dealIntervalMillis > 0) {
+                Thread.sleep(this.dealIntervalMillis);
+            }
+        }
+        return this.hands.get(0).getCards().size();
+    }
+}
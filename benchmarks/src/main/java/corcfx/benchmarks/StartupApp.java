@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.benchmarks;
+
+import corc.base.standard.Card;
+import corcfx.structure.GUIController;
+import corcfx.visual.VisualHand;
+import corcfx.visual.interactable.HorizontalOrganizablePane;
+import corcfx.visual.standard.interactable.HumanVisualHand;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+
+/**
+ * A sample {@link GUIController} whose startup is scripted, used by
+ * {@link StartupBenchmark} to measure the time to the first frame and
+ * to record the classes loaded at startup for an AppCDS archive.
+ * <p>
+ * On start, a shuffled deck is dealt to a {@link HumanVisualHand} and
+ * three plain {@link VisualHand}s around a table. After the first
+ * frame showing the dealt hands has been rendered, a single line is
+ * printed and the application exits:
+ * <pre>
+ * FIRST_FRAME millis=&lt;n&gt; sharing=&lt;true|false&gt;
+ * </pre>
+ * where millis is the time since the process was launched. The launch
+ * time is read from the {@value #LAUNCHED_PROPERTY} system property, in
+ * milliseconds since the epoch, or from the operating system if the
+ * property is not set. Sharing is whether the JVM uses a class data
+ * sharing archive.
+ */
+public final class StartupApp extends GUIController {
+
+    public static final String LAUNCHED_PROPERTY = "corcfx.startup.launched";
+    public static final String FIRST_FRAME = "FIRST_FRAME";
+
+    /**
+     * Launches {@link StartupApp}. The main class MUST NOT extend
+     * {@link javafx.application.Application} when JavaFX is on the
+     * class path instead of the module path, so this is used as the
+     * main class.
+     */
+    public static final class Launcher {
+
+        private Launcher() {
+        }
+
+        public static void main(String[] args) {
+            launch(StartupApp.class, args);
+        }
+    }
+
+    @Override
+    public void start(Stage stage) {
+        List<Card> deck = new ArrayList<>(Cards.deck());
+        Collections.shuffle(deck, new Random(1));
+
+        List<VisualHand<Card>> hands = new ArrayList<>();
+        hands.add(new HumanVisualHand(new HorizontalOrganizablePane(-40, -20)));
+        hands.add(new corcfx.visual.standard.VisualHand(new VBox(-70)));
+        hands.add(new corcfx.visual.standard.VisualHand(new HBox(-40)));
+        hands.add(new corcfx.visual.standard.VisualHand(new VBox(-70)));
+
+        BorderPane root = new BorderPane();
+        root.setBottom(hands.get(0));
+        root.setLeft(hands.get(1));
+        root.setTop(hands.get(2));
+        root.setRight(hands.get(3));
+
+        int perHand = deck.size() / hands.size();
+        for (int i = 0; i < hands.size(); i++) {
+            // On the FXThread, so the cards are shown immediately.
+            hands.get(i).getCardsetListener().cardsAdded(deck.subList(i * perHand, (i + 1) * perHand));
+        }
+
+        Scene scene = new Scene(root, 1024, 768);
+        scene.addPostLayoutPulseListener(new Runnable() {
+            @Override
+            public void run() {
+                scene.removePostLayoutPulseListener(this);
+                // Runs after the rest of the pulse, once the frame has
+                // been rendered.
+                Platform.runLater(StartupApp::reportFirstFrame);
+            }
+        });
+        stage.setScene(scene);
+        stage.setTitle("CORCFX Startup");
+        stage.show();
+    }
+
+    private static void reportFirstFrame() {
+        long now = System.currentTimeMillis();
+        String launched = System.getProperty(LAUNCHED_PROPERTY);
+        long launchedAt = launched != null
+                ? Long.parseLong(launched)
+                : ProcessHandle.current().info().startInstant().map(Instant::toEpochMilli).orElse(now);
+        boolean sharing = System.getProperty("java.vm.info", "").contains("sharing");
+        System.out.println(FIRST_FRAME + " millis=" + (now - launchedAt) + " sharing=" + sharing);
+        System.out.flush();
+        Platform.exit();
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to the first frame of {@link StartupApp} in fresh
+ * JVMs, with and without class data sharing.
+ * <p>
+ * Each run launches a new JVM in one of three modes, interleaved so
+ * that they share the same machine conditions:
+ * <ul>
+ * <li>off: class data sharing is disabled.</li>
+ * <li>default: the default archive of the Java runtime, if it has
+ * one.</li>
+ * <li>app: an AppCDS archive of the classes loaded by StartupApp,
+ * including JavaFX, CORC and CORCFX.</li>
+ * </ul>
+ * The AppCDS archive is generated first if it does not exist or is
+ * older than the class path, from a scripted run of StartupApp which
+ * records the loaded classes. The class path MUST only contain jar
+ * files for the archive to be used.
+ * <p>
+ * The process exits with status 1 if any run fails.
+ * <p>
+ * Options are passed as key=value arguments:
+ * <pre>
+ * java=&lt;java launcher&gt; classpath=&lt;jars&gt; runs=10
+ * archive=target/startup/corcfx.jsa regenerate=false headless=true
+ * jvmArgs="&lt;extra JVM arguments&gt;"
+ * </pre>
+ * The launcher and class path default to those of this JVM. When
+ * headless, StartupApp runs through Monocle with the software
+ * renderer, which MUST then be on the class path. Monocle cannot be
+ * used with a runtime image which contains JavaFX, such as the jlink
+ * image of the startup profile, as class data sharing does not allow
+ * patching it into the javafx.graphics module; such a runtime MUST be
+ * benchmarked with headless=false on a display.
+ */
+public final class StartupBenchmark {
+
+    private static final String[] MODES = {"off", "default", "app"};
+    private static final long RUN_TIMEOUT_SECONDS = 120;
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        String java = options.getOrDefault("java",
+                System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        String classpath = options.getOrDefault("classpath", System.getProperty("java.class.path"));
+        int runs = Integer.parseInt(options.getOrDefault("runs", "10"));
+        File archive = new File(options.getOrDefault("archive", "target/startup/corcfx.jsa"));
+        boolean regenerate = Boolean.parseBoolean(options.getOrDefault("regenerate", "false"));
+        boolean headless = Boolean.parseBoolean(options.getOrDefault("headless", "true"));
+        String extra = options.getOrDefault("jvmArgs", "").trim();
+
+        List<String> jvmArgs = new ArrayList<>();
+        if (headless) {
+            jvmArgs.addAll(Arrays.asList("-Dglass.platform=Monocle", "-Dmonocle.platform=Headless",
+                    "-Dprism.order=sw", "-Djava.awt.headless=true"));
+        }
+        if (!extra.isEmpty()) {
+            jvmArgs.addAll(Arrays.asList(extra.split("\\s+")));
+        }
+
+        if (regenerate || isStale(archive, classpath)) {
+            generateArchive(java, classpath, jvmArgs, archive);
+        }
+
+        Map<String, List<Long>> results = new HashMap<>();
+        int failures = 0;
+        boolean appSharing = true;
+        for (int run = 0; run < runs; run++) {
+            for (String mode : MODES) {
+                List<String> command = command(java, classpath, jvmArgs);
+                switch (mode) {
+                    case "off":
+                        command.add(1, "-Xshare:off");
+                        break;
+                    case "default":
+                        command.add(1, "-Xshare:auto");
+                        break;
+                    default:
+                        command.add(1, "-Xshare:auto");
+                        command.add(1, "-XX:SharedArchiveFile=" + archive.getPath());
+                        break;
+                }
+                command.add(1, "-D" + StartupApp.LAUNCHED_PROPERTY + "=" + System.currentTimeMillis());
+                String line = runForFirstFrame(command);
+                if (line == null) {
+                    failures++;
+                    continue;
+                }
+                results.computeIfAbsent(mode, k -> new ArrayList<>()).add(parseField(line, "millis"));
+                if (mode.equals("app") && !Boolean.parseBoolean(fieldValue(line, "sharing"))) {
+                    appSharing = false;
+                }
+            }
+        }
+
+        System.out.println();
+        System.out.printf("Time to first frame of %s, %d runs per mode (ms)%n", StartupApp.class.getSimpleName(), runs);
+        System.out.printf("%-8s %8s %8s %8s %8s%n", "mode", "min", "median", "mean", "max");
+        for (String mode : MODES) {
+            List<Long> times = results.getOrDefault(mode, new ArrayList<>());
+            if (times.isEmpty()) {
+                System.out.printf("%-8s %8s%n", mode, "failed");
+                continue;
+            }
+            long[] sorted = times.stream().mapToLong(Long::longValue).sorted().toArray();
+            System.out.printf("%-8s %8d %8d %8.1f %8d%n", mode, sorted[0], median(sorted),
+                    Arrays.stream(sorted).average().orElse(0), sorted[sorted.length - 1]);
+        }
+        List<Long> withDefault = results.get("default");
+        List<Long> withApp = results.get("app");
+        if (withDefault != null && withApp != null) {
+            long[] defaults = withDefault.stream().mapToLong(Long::longValue).sorted().toArray();
+            long[] apps = withApp.stream().mapToLong(Long::longValue).sorted().toArray();
+            System.out.printf("AppCDS saves %d ms of the median over the default archive.%n",
+                    median(defaults) - median(apps));
+        }
+        if (!appSharing) {
+            System.err.println("Warning: the AppCDS archive was not used by every app run; " +
+                    "it may not match the runtime or class path.");
+        }
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    /**
+     * Records the classes loaded by a scripted run of
+     * {@link StartupApp}, then dumps them into an AppCDS archive.
+     */
+    private static void generateArchive(String java, String classpath, List<String> jvmArgs, File archive)
+            throws IOException, InterruptedException {
+        File parent = archive.getAbsoluteFile().getParentFile();
+        if (!parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Could not create " + parent);
+        }
+        File classList = new File(archive.getPath() + ".classlist");
+
+        System.out.println("Recording the classes loaded at startup to " + classList);
+        List<String> record = command(java, classpath, jvmArgs);
+        record.add(1, "-XX:DumpLoadedClassList=" + classList.getPath());
+        record.add(1, "-Xshare:off");
+        if (runForFirstFrame(record) == null) {
+            throw new IllegalStateException("The startup run for the class list failed.");
+        }
+
+        System.out.println("Dumping the AppCDS archive to " + archive);
+        List<String> dump = new ArrayList<>();
+        dump.add(java);
+        dump.addAll(jvmArgs);
+        dump.add("-Xshare:dump");
+        dump.add("-XX:SharedClassListFile=" + classList.getPath());
+        dump.add("-XX:SharedArchiveFile=" + archive.getPath());
+        dump.add("-cp");
+        dump.add(classpath);
+        List<String> output = new ArrayList<>();
+        if (!run(dump, output) || !archive.isFile()) {
+            output.forEach(System.err::println);
+            throw new IllegalStateException("Dumping the AppCDS archive failed.");
+        }
+    }
+
+    /**
+     * Returns whether the archive is missing or older than an entry
+     * of the class path, as the JVM ignores an archive whose class
+     * path has changed.
+     */
+    private static boolean isStale(File archive, String classpath) {
+        if (!archive.isFile()) {
+            return true;
+        }
+        for (String entry : classpath.split(File.pathSeparator)) {
+            if (new File(entry).lastModified() > archive.lastModified()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> command(String java, String classpath, List<String> jvmArgs) {
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(classpath);
+        command.add(StartupApp.Launcher.class.getName());
+        return command;
+    }
+
+    /**
+     * Runs the command and returns the first frame line it printed, or
+     * null if it failed, printing its output.
+     */
+    private static String runForFirstFrame(List<String> command) throws IOException, InterruptedException {
+        List<String> output = new ArrayList<>();
+        if (run(command, output)) {
+            for (String line : output) {
+                if (line.startsWith(StartupApp.FIRST_FRAME + " ")) {
+                    return line;
+                }
+            }
+        }
+        System.err.println("Startup run failed: " + String.join(" ", command));
+        output.forEach(System.err::println);
+        return null;
+    }
+
+    /**
+     * Runs the command, collecting its output, and returns whether it
+     * exited with status 0 before the timeout. A process which does
+     * not exit in time is destroyed.
+     */
+    private static boolean run(List<String> command, List<String> output) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        Thread reader = new Thread(() -> {
+            try (BufferedReader in = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    synchronized (output) {
+                        output.add(line);
+                    }
+                }
+            } catch (IOException e) {
+                // The process was destroyed.
+            }
+        }, "StartupBenchmark output");
+        reader.setDaemon(true);
+        reader.start();
+        boolean exited = process.waitFor(RUN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        if (!exited) {
+            process.destroyForcibly().waitFor();
+        }
+        reader.join(TimeUnit.SECONDS.toMillis(5));
+        return exited && process.exitValue() == 0;
+    }
+
+    private static String fieldValue(String line, String name) {
+        for (String field : line.split(" ")) {
+            if (field.startsWith(name + "=")) {
+                return field.substring(name.length() + 1);
+            }
+        }
+        throw new IllegalArgumentException("No " + name + " in: " + line);
+    }
+
+    private static long parseField(String line, String name) {
+        return Long.parseLong(fieldValue(line, name));
+    }
+
+    private static long median(long[] sorted) {
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int split = arg.indexOf('=');
+            if (split < 0) {
+                throw new IllegalArgumentException("Expected key=value: " + arg);
+            }
+            options.put(arg.substring(0, split), arg.substring(split + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.benchmarks;
+
+import corc.base.standard.Card;
+import corc.structure.CardsetListener;
+import corcfx.visual.interactable.HorizontalOrganizablePane;
+import corcfx.visual.standard.VisualHand;
+import corcfx.visual.standard.interactable.HumanVisualHand;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.layout.HBox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures adding cards to a {@link VisualHand} and removing them
+ * again, from a model Thread, including the hand-off to the FXThread.
+ * <p>
+ * The hands are not shown, so automatic suspension is turned off.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VisualHandBenchmark {
+
+    @Param({"1", "13"})
+    public int cardCount;
+
+    @Param({"plain", "human"})
+    public String hand;
+
+    private corcfx.visual.VisualHand<Card> visualHand;
+    private CardsetListener<Card> listener;
+    private List<Card> cards;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        FxPlatform.start();
+        this.cards = Cards.take(Cards.deck(), this.cardCount);
+        FxPlatform.runAndWait(() -> {
+            if ("human".equals(this.hand)) {
+                this.visualHand = new HumanVisualHand(new HorizontalOrganizablePane(-40, -20));
+            } else {
+                this.visualHand = new VisualHand(new HBox());
+            }
+            this.visualHand.setAutoSuspend(false);
+        });
+        this.listener = this.visualHand.getCardsetListener();
+    }
+
+    @Benchmark
+    public int listenerRoundTrip() {
+        this.listener.cardsAdded(this.cards);
+        this.listener.cardsRemoved(this.cards);
+        return this.visualHand.getCards().size();
+    }
+
+    @Benchmark
+    public int setCardsRoundTrip() {
+        this.visualHand.setCards(this.cards);
+        this.visualHand.setCards(Collections.emptyList());
+        return this.visualHand.getCards().size();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.benchmarks;
+
+import corc.base.standard.Card;
+import corc.structure.CardsetListener;
+import corcfx.visual.standard.VisualHand;
+import corcfx.visual.standard.VisualPile;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.layout.StackPane;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures pushing a card onto a pile of the given size and popping it
+ * again on the FXThread, with a {@link VisualPile} and with a
+ * {@link VisualHand} stacking its cards in a {@link StackPane}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VisualPileBenchmark {
+
+    @Param({"52", "260"})
+    public int pileSize;
+
+    @Param({"pile", "hand"})
+    public String view;
+
+    private CardsetListener<Card> listener;
+    private List<Card> top;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        FxPlatform.start();
+        List<Card> pile = Cards.take(Cards.deck(), this.pileSize);
+        this.top = Collections.singletonList(pile.get(pile.size() - 1));
+        FxPlatform.runAndWait(() -> {
+            if ("pile".equals(this.view)) {
+                this.listener = new VisualPile().getCardsetListener();
+            } else {
+                VisualHand hand = new VisualHand(new StackPane());
+                hand.setAutoSuspend(false);
+                this.listener = hand.getCardsetListener();
+            }
+            this.listener.cardsAdded(pile);
+        });
+    }
+
+    @Benchmark
+    public void pushAndPop() {
+        FxPlatform.runAndWait(() -> {
+            this.listener.cardsAdded(this.top);
+            this.listener.cardsRemoved(this.top);
+        });
+    }
+}
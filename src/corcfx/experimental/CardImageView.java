@@ -20,10 +20,12 @@
 
 package corcfx.experimental;
 
+import static corcfx.visual.CardUrlResolver.PROCEDURAL_CARD_RESOLVER;
 import static corcfx.visual.CardUrlResolver.STANDARD_CARD_RESOLVER;
 
 import corc.base.standard.Card;
 import corc.structure.ICard;
+import corcfx.visual.CardImageCache;
 import corcfx.visual.CardUrlResolver;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -41,14 +43,17 @@ import javafx.scene.image.ImageView;
  * {@link CardImageView#addCardURLResolver(Class, CardUrlResolver)}.
  * <p>
  * The card specified in the constructor will be ran against the known {@link CardUrlResolver}s
- * in this class. If both the front and back {@link Image}s cannot be made using the
- * CardURLResolvers, a {@link RuntimeException} will be thrown.
+ * in this class.
  * <p>
  * If a CardURLResolver exists specifically for the subclass of {@link ICard} given,
  * only that CardURLResolver will be attempted to generate the images. Otherwise
  * all the CardURLResolvers will be searched through to attempt applying CardURLResolvers
- * of known superclasses of the specified card. If no working CardURLResolver is found, a
- * RunTimeException will be thrown.
+ * of known superclasses of the specified card. If no working CardURLResolver is found,
+ * the card is drawn from its description using
+ * {@link CardUrlResolver#PROCEDURAL_CARD_RESOLVER}.
+ * <p>
+ * Images are obtained from the {@link CardImageCache}, so every CardImageView of the
+ * same card shares the same Images.
  */
 public class CardImageView extends ImageView implements Comparable<CardImageView> {
 
@@ -76,14 +81,13 @@ public class CardImageView extends ImageView implements Comparable<CardImageView
 
     /**
      * The card specified will be ran against the known {@link CardUrlResolver}s
-     * in this class. If both the front and back {@link Image}s cannot be made using the
-     * CardURLResolvers, a {@link RuntimeException} will be thrown.
+     * in this class.
      * <p>
      * If a CardURLResolver exists specifically for the subclass of {@link ICard} given,
      * only that CardURLResolver will be attempted to generate the images. Otherwise
      * all the CardURLResolvers will be searched through to attempt applying CardURLResolvers
-     * of known superclasses of the specified card. If no working CardURLResolver is found, a
-     * RunTimeException will be thrown.
+     * of known superclasses of the specified card. If no working CardURLResolver is found, the
+     * URL of {@link CardUrlResolver#PROCEDURAL_CARD_RESOLVER} is returned.
      *
      * @param card the card to get String the URL from.
      * @param <C>  the subclass of ICard of the specified card.
@@ -100,7 +104,7 @@ public class CardImageView extends ImageView implements Comparable<CardImageView
         try {
             resolver = getUsableResolver(superClasses, card);
         } catch (RuntimeException ex) {
-            return card.getDescription();
+            return PROCEDURAL_CARD_RESOLVER.getCardFrontURL(card);
         }
         //noinspection unchecked
         return resolver.getCardFrontURL(card);
@@ -109,14 +113,13 @@ public class CardImageView extends ImageView implements Comparable<CardImageView
 
     /**
      * The card specified will be ran against the known {@link CardUrlResolver}s
-     * in this class. If both the front and back {@link Image}s cannot be made using the
-     * CardURLResolvers, a {@link RuntimeException} will be thrown.
+     * in this class.
      * <p>
      * If a CardURLResolver exists specifically for the subclass of {@link ICard} given,
      * only that CardURLResolver will be attempted to generate the images. Otherwise
      * all the CardURLResolvers will be searched through to attempt applying CardURLResolvers
-     * of known superclasses of the specified card. If no working CardURLResolver is found, a
-     * RunTimeException will be thrown.
+     * of known superclasses of the specified card. If no working CardURLResolver is found, the
+     * URL of {@link CardUrlResolver#PROCEDURAL_CARD_RESOLVER} is returned.
      *
      * @param card the card to get String the URL from.
      * @param <C>  the subclass of ICard of the specified card.
@@ -133,7 +136,7 @@ public class CardImageView extends ImageView implements Comparable<CardImageView
         try {
             resolver = getUsableResolver(superClasses, card);
         } catch (RuntimeException ex) {
-            return card.getDescription();
+            return PROCEDURAL_CARD_RESOLVER.getCardBackURL(card);
         }
         //noinspection unchecked
         return resolver.getCardBackURL(card);
@@ -160,9 +163,9 @@ public class CardImageView extends ImageView implements Comparable<CardImageView
                     // that resolver is the one we want.
                     CardUrlResolver resolver = CardImageView.CARD_RESOLVERS.get(clazz);
                     //noinspection unchecked
-                    new Image(resolver.getCardFrontURL(card));
+                    CardImageCache.getImage(resolver.getCardFrontURL(card));
                     //noinspection unchecked
-                    new Image(resolver.getCardBackURL(card));
+                    CardImageCache.getImage(resolver.getCardBackURL(card));
                     //noinspection unchecked
                     return resolver;
                 } catch (Exception ex) {
@@ -193,8 +196,8 @@ public class CardImageView extends ImageView implements Comparable<CardImageView
     /**
      * Copy constructor.
      * <p>
-     * Will create new Images to be used for the front and back
-     * to avoid duplicate children exceptions.
+     * The copy shares the front and back Images of the specified
+     * CardImageView through the {@link CardImageCache}.
      *
      * @param civ the CardImageView to copy.
      */
@@ -202,8 +205,8 @@ public class CardImageView extends ImageView implements Comparable<CardImageView
         this.CARD = civ.CARD;
         this.isFaceUp = civ.isFaceUp;
         try {
-            this.frontImage = new Image(getCardFrontURL(this.CARD));
-            this.backImage = new Image(getCardBackURL(this.CARD));
+            this.frontImage = CardImageCache.getImage(getCardFrontURL(this.CARD));
+            this.backImage = CardImageCache.getImage(getCardBackURL(this.CARD));
         } catch (Exception e) {
             System.err.println("Failed to construct CardImageView with Card: " + this.CARD.getDescription());
             e.printStackTrace();
@@ -231,8 +234,8 @@ public class CardImageView extends ImageView implements Comparable<CardImageView
         this.CARD = card;
         this.isFaceUp = isFaceUp;
         try {
-            this.frontImage = new Image(getCardFrontURL(card));
-            this.backImage = new Image(getCardBackURL(card));
+            this.frontImage = CardImageCache.getImage(getCardFrontURL(card));
+            this.backImage = CardImageCache.getImage(getCardBackURL(card));
         } catch (Exception e) {
             throw new RuntimeException("Failed to construct CardImageView with Card: " + card.getDescription());
         }
@@ -22,9 +22,9 @@ package corcfx.experimental;
 import corc.core.Logger;
 import corc.structure.CardsetListener;
 import corc.structure.ICard;
+import corcfx.structure.FxWatchdog;
 import java.util.HashMap;
 import java.util.List;
-import javafx.application.Platform;
 import javafx.collections.ObservableList;
 import javafx.scene.Node;
 import javafx.scene.layout.BorderPane;
@@ -52,7 +52,7 @@ public class VisualHand extends BorderPane {
             @Override
             public void cardsAdded(List<? extends C> cards) {
                 addingCards = true;
-                Platform.runLater(() -> {
+                FxWatchdog.runLater(() -> {
                     addCards(cards);
                     addingCards = false;
                     startNotifyAll();
@@ -64,7 +64,7 @@ public class VisualHand extends BorderPane {
             @Override
             public void cardsRemoved(List<? extends C> cards) {
                 removingCards = true;
-                Platform.runLater(() -> {
+                FxWatchdog.runLater(() -> {
                     removeCards(cards);
                     removingCards = false;
                     startNotifyAll();
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Java Flight Recorder event for the decoding of a card image.
+ * <p>
+ * The duration of the event is the time taken to load and decode the
+ * image, to read its pixels from the
+ * {@link corcfx.visual.DiskPixelCache}, or to draw a procedural
+ * card. Images which fail to load are recorded with a size of zero.
+ */
+@Name("corcfx.ImageDecode")
+@Label("Card Image Decode")
+@Category({"CORCFX", "Rendering"})
+@Description("A card image was loaded and decoded")
+public final class ImageDecodeEvent extends Event {
+
+    @Label("URL")
+    private String url;
+
+    @Label("Width")
+    private int width;
+
+    @Label("Height")
+    private int height;
+
+    @Label("Decoded Size")
+    @Description("The memory used by the decoded pixels, at four bytes per pixel")
+    @DataAmount
+    private long bytes;
+
+    @Label("From Disk Cache")
+    @Description("Whether the pixels were read from the DiskPixelCache instead of being decoded")
+    private boolean fromDiskCache;
+
+    /**
+     * Sets the image that was decoded.
+     *
+     * @param url    the String URL of the image.
+     * @param width  the width of the decoded image, in pixels.
+     * @param height the height of the decoded image, in pixels.
+     */
+    public void setImage(String url, int width, int height) {
+        this.url = url;
+        this.width = width;
+        this.height = height;
+        this.bytes = (long) width * (long) height * 4;
+    }
+
+    public void setFromDiskCache(boolean fromDiskCache) {
+        this.fromDiskCache = fromDiskCache;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A Java Flight Recorder event for a change to a
+ * {@link corcfx.visual.VisualHand}, made by its
+ * {@link corc.structure.CardsetListener}.
+ * <p>
+ * The duration of the event is the time taken to apply the change on
+ * the FXThread. The queue wait is the time between the change being
+ * posted by a Model Thread and the FXThread starting to apply it; it
+ * is zero for changes made on the FXThread.
+ * <p>
+ * Stack traces are not recorded, as they would only show the
+ * FXThread's event loop.
+ */
+@Name("corcfx.ListenerDispatch")
+@Label("Listener Dispatch")
+@Category({"CORCFX", "Listeners"})
+@Description("A VisualHand applied a change to its Cardset")
+@StackTrace(false)
+public final class ListenerDispatchEvent extends Event {
+
+    @Label("Hand Class")
+    private Class<?> handClass;
+
+    @Label("Action")
+    @Description("Whether cards were added, removed or set")
+    private String action;
+
+    @Label("Card Count")
+    private int cardCount;
+
+    @Label("Queue Wait")
+    @Timespan(Timespan.NANOSECONDS)
+    private long queueWait;
+
+    @Label("Skipped")
+    @Description("Whether the change was skipped, as a later change or reconciliation replaced it")
+    private boolean skipped;
+
+    /**
+     * Sets the change that was dispatched.
+     *
+     * @param handClass the class of the hand.
+     * @param action    "added", "removed" or "set".
+     * @param cardCount the number of cards in the change.
+     * @param queueWait the time the change waited for the FXThread,
+     *                  in nanoseconds.
+     * @param skipped   whether the change was skipped.
+     */
+    public void setChange(Class<?> handClass, String action, int cardCount, long queueWait, boolean skipped) {
+        this.handClass = handClass;
+        this.action = action;
+        this.cardCount = cardCount;
+        this.queueWait = queueWait;
+        this.skipped = skipped;
+    }
+}
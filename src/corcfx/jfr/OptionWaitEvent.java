@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Java Flight Recorder event for a prompt of an
+ * {@link corcfx.visual.interactable.OptionPanel}.
+ * <p>
+ * The duration of the event is the time between the option being
+ * asked for and the prompt being answered, whether by a click, an
+ * {@link corcfx.visual.interactable.InputSource}, a timeout or a
+ * cancellation. Each caller waiting on the prompt is recorded by its
+ * own event, so a caller whose wait timed out or was cancelled is
+ * recorded when it stops waiting. The event is committed by the Thread
+ * which answered the prompt, usually the FXThread.
+ */
+@Name("corcfx.OptionWait")
+@Label("Option Wait")
+@Category({"CORCFX", "Input"})
+@Description("An OptionPanel waited for an option to be chosen")
+public final class OptionWaitEvent extends Event {
+
+    @Label("Title")
+    private String title;
+
+    @Label("Option Count")
+    private int optionCount;
+
+    @Label("Option")
+    @Description("The option that was chosen, or null if the prompt was cancelled")
+    private String option;
+
+    @Label("Cancelled")
+    private boolean cancelled;
+
+    @Label("Timed Out")
+    @Description("Whether the default option was used because no option was chosen in time")
+    private boolean timedOut;
+
+    /**
+     * Sets the prompt that was waited on.
+     *
+     * @param title       the title of the prompt.
+     * @param optionCount the number of options shown.
+     */
+    public void setPrompt(String title, int optionCount) {
+        this.title = title;
+        this.optionCount = optionCount;
+    }
+
+    /**
+     * Sets how the prompt was answered.
+     *
+     * @param option    the option chosen, or null.
+     * @param cancelled whether the prompt was cancelled, or otherwise
+     *                  completed without an option.
+     */
+    public void setAnswer(Object option, boolean cancelled) {
+        this.option = option == null ? null : option.toString();
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * Sets whether the wait timed out, and was answered with the
+     * default option of the caller.
+     *
+     * @param timedOut whether the wait timed out.
+     */
+    public void setTimedOut(boolean timedOut) {
+        this.timedOut = timedOut;
+    }
+}
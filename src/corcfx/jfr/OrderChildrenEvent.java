@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event for one ordering pass of an
+ * {@link corcfx.visual.interactable.OrganizablePane}.
+ * <p>
+ * The duration of the event is the time taken to order the children
+ * of the pane. Stack traces are not recorded, as a pane MAY be
+ * ordered many times a second.
+ */
+@Name("corcfx.OrderChildren")
+@Label("Order Children")
+@Category({"CORCFX", "Layout"})
+@Description("An OrganizablePane ordered its children")
+@StackTrace(false)
+public final class OrderChildrenEvent extends Event {
+
+    @Label("Pane Class")
+    private Class<?> paneClass;
+
+    @Label("Child Count")
+    private int childCount;
+
+    /**
+     * Sets the pane that was ordered.
+     *
+     * @param paneClass  the class of the pane.
+     * @param childCount the number of children of the pane.
+     */
+    public void setPane(Class<?> paneClass, int childCount) {
+        this.paneClass = paneClass;
+        this.childCount = childCount;
+    }
+}
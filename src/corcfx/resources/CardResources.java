@@ -0,0 +1,35 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.resources;
+
+/**
+ * Holds no code; gives the card image package a class, so that the
+ * package exists when the module is compiled and can be opened to
+ * {@link javafx.scene.image.Image}.
+ * <p>
+ * The images are loaded by their resource path, starting with
+ * {@link corcfx.visual.CardUrlResolver#STANDARD_CARD_PATH}.
+ */
+final class CardResources {
+
+    private CardResources() {
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.structure;
+
+import corc.core.Logger;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+/**
+ * Times the tasks CORCFX posts to the FXThread and reports the ones
+ * that stall it.
+ * <p>
+ * Once installed, every task posted through
+ * {@link FxWatchdog#runLater(Runnable)} records where it was posted
+ * from. A task running longer than the threshold has a stack sample
+ * of the FXThread taken while it is still running, and when it
+ * finishes a warning with its duration, call site and stack sample is
+ * logged. The gaps between pulses are tracked as well, as a long gap
+ * means the FXThread was busy with something else.
+ * <p>
+ * Totals are available as counters, for exporting to monitoring.
+ * <p>
+ * While installed, an {@link javafx.animation.AnimationTimer} is kept
+ * running to observe pulses, which keeps the FXThread pulsing even
+ * when nothing changes. The watchdog is meant for diagnosing jank and
+ * SHOULD be uninstalled when not needed.
+ */
+public final class FxWatchdog {
+
+    private static final int CALL_SITE_DEPTH = 3;
+
+    private static volatile FxWatchdog installed;
+
+    /**
+     * Installs a watchdog for the tasks CORCFX posts to the FXThread,
+     * replacing any watchdog already installed.
+     *
+     * @param thresholdMillis how long a task or pulse gap can take
+     *                        before it is reported.
+     * @return the installed watchdog.
+     */
+    public static synchronized FxWatchdog install(long thresholdMillis) {
+        uninstall();
+        FxWatchdog watchdog = new FxWatchdog(thresholdMillis);
+        watchdog.start();
+        installed = watchdog;
+        return watchdog;
+    }
+
+    /**
+     * Uninstalls the current watchdog, if any.
+     */
+    public static synchronized void uninstall() {
+        FxWatchdog watchdog = installed;
+        installed = null;
+        if (watchdog != null) {
+            watchdog.stop();
+        }
+    }
+
+    /**
+     * Gets the installed watchdog.
+     *
+     * @return the installed watchdog, or null if none is installed.
+     */
+    public static FxWatchdog getInstalled() {
+        return installed;
+    }
+
+    /**
+     * Posts the task to the FXThread using
+     * {@link Platform#runLater(Runnable)}, timing it if a watchdog is
+     * installed.
+     *
+     * @param task the task to run on the FXThread.
+     */
+    public static void runLater(Runnable task) {
+        FxWatchdog watchdog = installed;
+        Platform.runLater(watchdog == null ? task : watchdog.wrap(task));
+    }
+
+    private final long thresholdNanos;
+    private final ScheduledExecutorService monitor;
+    private final AnimationTimer pulseTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            pulse(now);
+        }
+    };
+
+    private final AtomicLong taskCount = new AtomicLong();
+    private final AtomicLong stallCount = new AtomicLong();
+    private final AtomicLong totalTaskNanos = new AtomicLong();
+    private final AtomicLong pulseCount = new AtomicLong();
+    private final AtomicLong longPulseGapCount = new AtomicLong();
+    private volatile long maxTaskNanos;
+    private volatile long maxPulseGapNanos;
+    private long lastPulse;
+
+    private volatile Thread fxThread;
+    private volatile long currentTaskStart;
+    private volatile long sampledTaskStart;
+    private volatile StackTraceElement[] stackSample;
+
+    private FxWatchdog(long thresholdMillis) {
+        if (thresholdMillis <= 0) {
+            throw new IllegalArgumentException("Threshold must be positive: " + thresholdMillis);
+        }
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.monitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "CORCFX FX Watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private void start() {
+        long period = Math.max(1, TimeUnit.NANOSECONDS.toMillis(this.thresholdNanos) / 2);
+        this.monitor.scheduleAtFixedRate(this::checkForStall, period, period, TimeUnit.MILLISECONDS);
+        Platform.runLater(this.pulseTimer::start);
+    }
+
+    private void stop() {
+        this.monitor.shutdownNow();
+        Platform.runLater(this.pulseTimer::stop);
+    }
+
+    /**
+     * Wraps the task so that it is timed when ran.
+     *
+     * @param task the task to time.
+     * @return the timed task.
+     */
+    public Runnable wrap(Runnable task) {
+        String callSite = findCallSite();
+        return () -> this.run(task, callSite);
+    }
+
+    public long getThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.thresholdNanos);
+    }
+
+    /**
+     * Gets the number of timed tasks that have finished.
+     *
+     * @return the number of finished tasks.
+     */
+    public long getTaskCount() {
+        return this.taskCount.get();
+    }
+
+    /**
+     * Gets the number of timed tasks that ran longer than the
+     * threshold.
+     *
+     * @return the number of stalls.
+     */
+    public long getStallCount() {
+        return this.stallCount.get();
+    }
+
+    public double getMaxTaskMillis() {
+        return this.maxTaskNanos / 1_000_000.0;
+    }
+
+    public double getMeanTaskMillis() {
+        long count = this.taskCount.get();
+        return count == 0 ? 0 : this.totalTaskNanos.get() / 1_000_000.0 / count;
+    }
+
+    public long getPulseCount() {
+        return this.pulseCount.get();
+    }
+
+    /**
+     * Gets the number of gaps between pulses that were longer than the
+     * threshold.
+     *
+     * @return the number of long pulse gaps.
+     */
+    public long getLongPulseGapCount() {
+        return this.longPulseGapCount.get();
+    }
+
+    public double getMaxPulseGapMillis() {
+        return this.maxPulseGapNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "FxWatchdog[tasks=%d, stalls=%d, meanTaskMs=%.3f, maxTaskMs=%.3f, pulses=%d, longPulseGaps=%d, " +
+                        "maxPulseGapMs=%.3f]",
+                getTaskCount(), getStallCount(), getMeanTaskMillis(), getMaxTaskMillis(),
+                getPulseCount(), getLongPulseGapCount(), getMaxPulseGapMillis()
+        );
+    }
+
+    private void run(Runnable task, String callSite) {
+        this.fxThread = Thread.currentThread();
+        long start = System.nanoTime();
+        this.currentTaskStart = start;
+        try {
+            task.run();
+        } finally {
+            long duration = System.nanoTime() - start;
+            this.currentTaskStart = 0;
+            this.taskCount.incrementAndGet();
+            this.totalTaskNanos.addAndGet(duration);
+            if (duration > this.maxTaskNanos) {
+                this.maxTaskNanos = duration;
+            }
+            if (duration > this.thresholdNanos) {
+                this.stallCount.incrementAndGet();
+                StackTraceElement[] sample = this.sampledTaskStart == start ? this.stackSample : null;
+                Logger.logWarning(stallReport(duration, callSite, sample));
+            }
+        }
+    }
+
+    private void checkForStall() {
+        long start = this.currentTaskStart;
+        Thread thread = this.fxThread;
+        if (start == 0 || thread == null || this.sampledTaskStart == start) {
+            return;
+        }
+        if (System.nanoTime() - start > this.thresholdNanos) {
+            StackTraceElement[] sample = thread.getStackTrace();
+            if (this.currentTaskStart == start) { // Still the same task.
+                this.stackSample = sample;
+                this.sampledTaskStart = start;
+            }
+        }
+    }
+
+    private void pulse(long now) {
+        this.pulseCount.incrementAndGet();
+        if (this.lastPulse != 0) {
+            long gap = now - this.lastPulse;
+            if (gap > this.maxPulseGapNanos) {
+                this.maxPulseGapNanos = gap;
+            }
+            if (gap > this.thresholdNanos) {
+                this.longPulseGapCount.incrementAndGet();
+                Logger.logWarning(String.format("FXThread pulse gap of %.1f ms (threshold %d ms)",
+                        gap / 1_000_000.0, getThresholdMillis()));
+            }
+        }
+        this.lastPulse = now;
+    }
+
+    private String stallReport(long duration, String callSite, StackTraceElement[] sample) {
+        StringBuilder report = new StringBuilder(String.format(
+                "FXThread task took %.1f ms (threshold %d ms), posted from %s",
+                duration / 1_000_000.0, getThresholdMillis(), callSite));
+        if (sample != null) {
+            report.append("\n  Stack sample while stalled:");
+            for (StackTraceElement element : sample) {
+                report.append("\n    at ").append(element);
+            }
+        }
+        return report.toString();
+    }
+
+    private static String findCallSite() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> !frame.getClassName().equals(FxWatchdog.class.getName()))
+                .limit(CALL_SITE_DEPTH)
+                .map(StackWalker.StackFrame::toString)
+                .collect(Collectors.joining(" <- ")));
+    }
+}
@@ -21,7 +21,6 @@ This file is part of CORCFX.
 package corcfx.structure;
 
 import javafx.application.Application;
-import javafx.application.Platform;
 import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.layout.Pane;
@@ -32,6 +31,8 @@ import javafx.scene.layout.Pane;
  */
 public abstract class GUIController extends Application {
 
+    private final UiMutationQueue mutationQueue = new UiMutationQueue();
+
     /**
      * Creates and adds a start {@link Button} to the specified
      * {@link Pane}. When the button is clicked, the specified
@@ -58,21 +59,57 @@ public abstract class GUIController extends Application {
 
     /**
      * Will add the child {@link Node} to the parent Node's children.
+     * <p>
+     * The addition is submitted to the {@link UiMutationQueue} of this,
+     * so it is applied in order with every other submitted change.
      *
      * @param parent the Node to have the child added to.
      * @param child  the Node to add to the parent Node.
      */
     protected void addNodeOnPlatformThread(Pane parent, Node child) {
-        Platform.runLater(() -> parent.getChildren().add(child));
+        this.mutationQueue.add(parent, child);
     }
 
     /**
      * Will remove the child {@link Node} to the parent Node's children.
+     * <p>
+     * The removal is submitted to the {@link UiMutationQueue} of this,
+     * so it is applied in order with every other submitted change.
      *
      * @param parent the Node to have the child removed from.
      * @param child  the Node to remove from the parent Node.
      */
     protected void removeNodeOnPlatformThread(Pane parent, Node child) {
-        Platform.runLater(() -> parent.getChildren().remove(child));
+        this.mutationQueue.remove(parent, child);
+    }
+
+    /**
+     * Creates a {@link RenderStatsOverlay} and adds it to the
+     * specified {@link Pane}, to show rendering statistics for the
+     * {@link javafx.scene.Scene} of the Pane.
+     * <p>
+     * The same statistics MAY be read programmatically from the
+     * returned {@link RenderStatsMonitor}.
+     *
+     * @param parent the Pane to add the overlay to.
+     * @return the monitor of the overlay.
+     */
+    protected RenderStatsMonitor attachStatsOverlay(Pane parent) {
+        RenderStatsOverlay overlay = new RenderStatsOverlay();
+        this.addNodeOnPlatformThread(parent, overlay);
+        return overlay.getMonitor();
+    }
+
+    /**
+     * Gets the {@link UiMutationQueue} used to batch changes to the
+     * scene graph made by this.
+     * <p>
+     * Model code MAY submit its own changes to it, which will be
+     * applied in order with the changes made by this.
+     *
+     * @return the UiMutationQueue of this.
+     */
+    protected UiMutationQueue getMutationQueue() {
+        return this.mutationQueue;
     }
 }
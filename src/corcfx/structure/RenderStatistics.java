@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.structure;
+
+/**
+ * An immutable snapshot of rendering statistics, taken by a
+ * {@link RenderStatsMonitor}.
+ * <p>
+ * Frame times are the intervals between consecutive pulses of the
+ * FXThread, over the most recent frames.
+ */
+public final class RenderStatistics {
+
+    private final double framesPerSecond;
+    private final double frameTimeP50Millis;
+    private final double frameTimeP95Millis;
+    private final double frameTimeP99Millis;
+    private final int nodeCount;
+    private final int cardImageViewCount;
+    private final long imageCacheBytes;
+    private final int pendingHandOperations;
+
+    RenderStatistics(double framesPerSecond, double frameTimeP50Millis, double frameTimeP95Millis,
+                     double frameTimeP99Millis, int nodeCount, int cardImageViewCount, long imageCacheBytes,
+                     int pendingHandOperations) {
+        this.framesPerSecond = framesPerSecond;
+        this.frameTimeP50Millis = frameTimeP50Millis;
+        this.frameTimeP95Millis = frameTimeP95Millis;
+        this.frameTimeP99Millis = frameTimeP99Millis;
+        this.nodeCount = nodeCount;
+        this.cardImageViewCount = cardImageViewCount;
+        this.imageCacheBytes = imageCacheBytes;
+        this.pendingHandOperations = pendingHandOperations;
+    }
+
+    public double getFramesPerSecond() {
+        return this.framesPerSecond;
+    }
+
+    public double getFrameTimeP50Millis() {
+        return this.frameTimeP50Millis;
+    }
+
+    public double getFrameTimeP95Millis() {
+        return this.frameTimeP95Millis;
+    }
+
+    public double getFrameTimeP99Millis() {
+        return this.frameTimeP99Millis;
+    }
+
+    /**
+     * Gets the number of {@link javafx.scene.Node}s in the monitored
+     * {@link javafx.scene.Scene}, including the root.
+     *
+     * @return the number of Nodes.
+     */
+    public int getNodeCount() {
+        return this.nodeCount;
+    }
+
+    /**
+     * Gets the number of card image views in the monitored
+     * {@link javafx.scene.Scene}.
+     *
+     * @return the number of card image views.
+     */
+    public int getCardImageViewCount() {
+        return this.cardImageViewCount;
+    }
+
+    /**
+     * Gets the estimated size of the
+     * {@link corcfx.visual.CardImageCache}.
+     *
+     * @return the size of the image cache, in bytes.
+     */
+    public long getImageCacheBytes() {
+        return this.imageCacheBytes;
+    }
+
+    /**
+     * Gets the number of changes posted by
+     * {@link corcfx.visual.VisualHand}s which have not been applied.
+     *
+     * @return the number of pending changes.
+     */
+    public int getPendingHandOperations() {
+        return this.pendingHandOperations;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%.1f fps | frame p50 %.1f ms, p95 %.1f ms, p99 %.1f ms%n" +
+                        "%d nodes | %d cards | image cache %.1f MiB | %d pending hand ops",
+                this.framesPerSecond, this.frameTimeP50Millis, this.frameTimeP95Millis, this.frameTimeP99Millis,
+                this.nodeCount, this.cardImageViewCount, this.imageCacheBytes / (1024.0 * 1024.0),
+                this.pendingHandOperations
+        );
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.structure;
+
+import corcfx.visual.CardImageCache;
+import corcfx.visual.VisualHand;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import javafx.animation.AnimationTimer;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+
+/**
+ * Collects rendering statistics for the {@link Scene} of a
+ * {@link Node}.
+ * <p>
+ * While started, the interval between every pulse is recorded, and
+ * twice a second a new {@link RenderStatistics} is published through
+ * {@link RenderStatsMonitor#statisticsProperty()}. The latest
+ * statistics MAY be read on any Thread using
+ * {@link RenderStatsMonitor#getLatest()}.
+ * <p>
+ * {@link RenderStatsMonitor#start()}, {@link RenderStatsMonitor#stop()}
+ * and {@link RenderStatsMonitor#snapshot()} MUST be called on the
+ * FXThread.
+ */
+public class RenderStatsMonitor {
+
+    private static final int FRAME_SAMPLES = 240;
+    private static final long PUBLISH_INTERVAL_NANOS = 500_000_000L;
+
+    private final Node node;
+    private final long[] frameNanos = new long[FRAME_SAMPLES];
+    private final long[] sortedFrameNanos = new long[FRAME_SAMPLES];
+    private final ReadOnlyObjectWrapper<RenderStatistics> statistics = new ReadOnlyObjectWrapper<>(this, "statistics");
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            frame(now);
+        }
+    };
+
+    private int frameIndex;
+    private int frameCount;
+    private long lastPulse;
+    private long lastPublish;
+    private volatile RenderStatistics latest;
+
+    /**
+     * Creates a monitor for the {@link Scene} of the specified
+     * {@link Node}. The Scene is looked up every time statistics are
+     * taken, so the Node MAY be added to a Scene later.
+     *
+     * @param node the Node whose Scene to monitor.
+     */
+    public RenderStatsMonitor(Node node) {
+        this.node = node;
+    }
+
+    /**
+     * Starts recording frames and publishing statistics.
+     */
+    public void start() {
+        this.lastPulse = 0;
+        this.timer.start();
+    }
+
+    /**
+     * Stops recording frames and publishing statistics.
+     */
+    public void stop() {
+        this.timer.stop();
+    }
+
+    /**
+     * Gets the property holding the most recently published
+     * statistics. It is updated on the FXThread.
+     *
+     * @return the statistics property.
+     */
+    public ReadOnlyObjectProperty<RenderStatistics> statisticsProperty() {
+        return this.statistics.getReadOnlyProperty();
+    }
+
+    /**
+     * Gets the most recently published statistics.
+     *
+     * @return the latest statistics, or null if none were published.
+     */
+    public RenderStatistics getLatest() {
+        return this.latest;
+    }
+
+    /**
+     * Takes statistics now, counting the Nodes of the {@link Scene}.
+     *
+     * @return the current statistics.
+     */
+    public RenderStatistics snapshot() {
+        int count = this.frameCount;
+        double fps = 0;
+        double p50 = 0;
+        double p95 = 0;
+        double p99 = 0;
+        if (count > 0) {
+            System.arraycopy(this.frameNanos, 0, this.sortedFrameNanos, 0, count);
+            Arrays.sort(this.sortedFrameNanos, 0, count);
+            long total = 0;
+            for (int i = 0; i < count; i++) {
+                total += this.sortedFrameNanos[i];
+            }
+            fps = total == 0 ? 0 : count * 1_000_000_000.0 / total;
+            p50 = percentileMillis(count, 0.50);
+            p95 = percentileMillis(count, 0.95);
+            p99 = percentileMillis(count, 0.99);
+        }
+
+        int nodeCount = 0;
+        int cardCount = 0;
+        Scene scene = this.node.getScene();
+        if (scene != null && scene.getRoot() != null) {
+            Deque<Node> toVisit = new ArrayDeque<>();
+            toVisit.push(scene.getRoot());
+            while (!toVisit.isEmpty()) {
+                Node current = toVisit.pop();
+                nodeCount++;
+                if (current instanceof corcfx.visual.CardImageView
+                        || current instanceof corcfx.experimental.CardImageView) {
+                    cardCount++;
+                }
+                if (current instanceof Parent) {
+                    for (Node child : ((Parent) current).getChildrenUnmodifiable()) {
+                        toVisit.push(child);
+                    }
+                }
+            }
+        }
+
+        return new RenderStatistics(fps, p50, p95, p99, nodeCount, cardCount,
+                CardImageCache.getByteCount(), VisualHand.getPendingOperationCount());
+    }
+
+    private double percentileMillis(int count, double percentile) {
+        int index = Math.min(count - 1, (int) Math.ceil(percentile * count) - 1);
+        return this.sortedFrameNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private void frame(long now) {
+        if (this.lastPulse != 0) {
+            this.frameNanos[this.frameIndex] = now - this.lastPulse;
+            this.frameIndex = (this.frameIndex + 1) % FRAME_SAMPLES;
+            this.frameCount = Math.min(this.frameCount + 1, FRAME_SAMPLES);
+        }
+        this.lastPulse = now;
+
+        if (now - this.lastPublish >= PUBLISH_INTERVAL_NANOS) {
+            this.lastPublish = now;
+            RenderStatistics snapshot = this.snapshot();
+            this.latest = snapshot;
+            this.statistics.set(snapshot);
+        }
+    }
+}
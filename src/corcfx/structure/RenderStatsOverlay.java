@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.structure;
+
+import javafx.scene.control.Label;
+
+/**
+ * A {@link Label} showing the statistics of a
+ * {@link RenderStatsMonitor} for the {@link javafx.scene.Scene} it is
+ * shown in.
+ * <p>
+ * The monitor is started when this is added to a Scene and stopped
+ * when it is removed. This ignores the mouse, so it MAY be placed on
+ * top of a table.
+ */
+public class RenderStatsOverlay extends Label {
+
+    public static final String DEFAULT_STYLE =
+            "-fx-background-color: rgba(0, 0, 0, 0.6); " +
+                    "-fx-text-fill: WHITE; " +
+                    "-fx-padding: 4px; " +
+                    "-fx-font-family: monospace";
+
+    private final RenderStatsMonitor monitor = new RenderStatsMonitor(this);
+
+    /**
+     * Creates an overlay using the {@link RenderStatsOverlay#DEFAULT_STYLE}.
+     */
+    public RenderStatsOverlay() {
+        this.setStyle(DEFAULT_STYLE);
+        this.setMouseTransparent(true);
+        this.setViewOrder(-Double.MAX_VALUE); // Always in front.
+
+        this.monitor.statisticsProperty().addListener((observable, oldValue, newValue) -> {
+            if (newValue != null) {
+                this.setText(newValue.toString());
+            }
+        });
+        this.sceneProperty().addListener((observable, oldScene, newScene) -> {
+            if (newScene != null) {
+                this.monitor.start();
+            } else {
+                this.monitor.stop();
+            }
+        });
+    }
+
+    /**
+     * Gets the monitor whose statistics are shown.
+     *
+     * @return the monitor of this.
+     */
+    public RenderStatsMonitor getMonitor() {
+        return this.monitor;
+    }
+}
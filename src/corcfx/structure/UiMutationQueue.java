@@ -0,0 +1,206 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.structure;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javafx.application.Platform;
+import javafx.beans.value.WritableValue;
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+
+/**
+ * Collects changes to the scene graph from any {@link Thread} and
+ * applies them on the FXThread in batches.
+ * <p>
+ * Operations are applied in the order they were submitted. Only one
+ * {@link Platform#runLater(Runnable)} task is posted per batch: every
+ * operation submitted before that task runs is applied by it, so a
+ * Model building a table with hundreds of changes posts a handful of
+ * tasks instead of hundreds.
+ * <p>
+ * If an operation throws an exception, its stack trace is printed to
+ * the standard error stream and the remaining operations are still
+ * applied.
+ */
+public class UiMutationQueue {
+
+    private final ConcurrentLinkedQueue<Runnable> operations = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicInteger peakDepth = new AtomicInteger();
+    private final AtomicLong appliedCount = new AtomicLong();
+    private final AtomicLong drainCount = new AtomicLong();
+
+    /**
+     * Submits an operation to be ran on the FXThread.
+     *
+     * @param operation the operation.
+     */
+    public void submit(Runnable operation) {
+        this.operations.add(operation);
+        int newDepth = this.depth.incrementAndGet();
+        this.peakDepth.accumulateAndGet(newDepth, Math::max);
+        if (this.drainScheduled.compareAndSet(false, true)) {
+            FxWatchdog.runLater(this::drain);
+        }
+    }
+
+    /**
+     * Submits the addition of the child {@link Node} to the parent
+     * {@link Pane}'s children.
+     *
+     * @param parent the Pane to have the child added to.
+     * @param child  the Node to add to the parent Pane.
+     */
+    public void add(Pane parent, Node child) {
+        this.submit(() -> parent.getChildren().add(child));
+    }
+
+    /**
+     * Submits the removal of the child {@link Node} from the parent
+     * {@link Pane}'s children.
+     *
+     * @param parent the Pane to have the child removed from.
+     * @param child  the Node to remove from the parent Pane.
+     */
+    public void remove(Pane parent, Node child) {
+        this.submit(() -> parent.getChildren().remove(child));
+    }
+
+    /**
+     * Submits setting the value of a property, such as a
+     * {@link javafx.beans.property.DoubleProperty} of a Node.
+     *
+     * @param property the property to set.
+     * @param value    the new value.
+     * @param <V>      the class of the value.
+     */
+    public <V> void set(WritableValue<V> property, V value) {
+        this.submit(() -> property.setValue(value));
+    }
+
+    /**
+     * Returns a {@link CompletableFuture} which is completed once every
+     * operation submitted before this call has been applied.
+     *
+     * @return the future of the flush.
+     */
+    public CompletableFuture<Void> flush() {
+        CompletableFuture<Void> flushed = new CompletableFuture<>();
+        this.submit(() -> flushed.complete(null));
+        return flushed;
+    }
+
+    /**
+     * Waits until every operation submitted before this call has been
+     * applied.
+     * <p>
+     * If called on the FXThread, the pending operations are applied
+     * immediately instead.
+     *
+     * @throws InterruptedException if the calling Thread is
+     *                              interrupted while waiting.
+     */
+    public void await() throws InterruptedException {
+        if (Platform.isFxApplicationThread()) {
+            this.drain();
+            return;
+        }
+        try {
+            this.flush().get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause()); // A flush cannot fail.
+        }
+    }
+
+    /**
+     * Gets the number of operations that have been submitted but not
+     * yet applied.
+     *
+     * @return the current queue depth.
+     */
+    public int getQueueDepth() {
+        return this.depth.get();
+    }
+
+    /**
+     * Gets the largest queue depth seen since this was created or the
+     * peak was last reset.
+     *
+     * @return the peak queue depth.
+     */
+    public int getPeakQueueDepth() {
+        return this.peakDepth.get();
+    }
+
+    /**
+     * Resets the peak queue depth to the current queue depth.
+     */
+    public void resetPeakQueueDepth() {
+        this.peakDepth.set(this.depth.get());
+    }
+
+    /**
+     * Gets the total number of operations applied.
+     *
+     * @return the number of applied operations.
+     */
+    public long getAppliedCount() {
+        return this.appliedCount.get();
+    }
+
+    /**
+     * Gets the total number of batches ran on the FXThread.
+     *
+     * @return the number of batches.
+     */
+    public long getDrainCount() {
+        return this.drainCount.get();
+    }
+
+    private void drain() {
+        // Cleared first, so operations submitted while draining are
+        // guaranteed another batch if this one does not reach them.
+        this.drainScheduled.set(false);
+        this.drainCount.incrementAndGet();
+
+        int batchSize = this.depth.get();
+        for (int i = 0; i < batchSize; i++) {
+            Runnable operation = this.operations.poll();
+            if (operation == null) {
+                break;
+            }
+            try {
+                operation.run();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            } finally {
+                this.depth.decrementAndGet();
+                this.appliedCount.incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.visual;
+
+import corcfx.jfr.ImageDecodeEvent;
+import corcfx.structure.FxWatchdog;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import javafx.scene.image.Image;
+
+/**
+ * A shared cache of card {@link Image}s, keyed by their String URL.
+ * <p>
+ * Every {@link CardImageView} showing the same card face or back
+ * shares a single Image, so each image is only decoded once. Images
+ * are never evicted unless {@link CardImageCache#clear()} is called.
+ * <p>
+ * This class is thread-safe; Images MAY be loaded on any Thread.
+ * Each Image is loaded outside of the map, so loading one Image never
+ * blocks Threads asking for another; Threads asking for an Image which
+ * is being loaded wait for that load only.
+ * <p>
+ * Images MAY be cached at several sizes, and MAY be read from a
+ * {@link DiskPixelCache} instead of being decoded, once one is set.
+ * URLs of {@link CardUrlResolver#PROCEDURAL_CARD_RESOLVER} are drawn
+ * instead, and are never written to the DiskPixelCache.
+ * <p>
+ * Every decode is recorded as an {@link ImageDecodeEvent} when Java
+ * Flight Recorder is recording.
+ */
+public final class CardImageCache {
+
+    private static final ConcurrentHashMap<String, CompletableFuture<Image>> IMAGES = new ConcurrentHashMap<>();
+
+    private static volatile DiskPixelCache diskCache;
+
+    private CardImageCache() {
+    }
+
+    /**
+     * Gets the {@link Image} for the specified URL, loading it if it
+     * is not cached yet.
+     * <p>
+     * Images which cannot be created, or which fail to load, are not
+     * cached; the failed Image is still returned.
+     *
+     * @param url the String URL of the Image.
+     * @return the Image.
+     * @throws IllegalArgumentException if the URL is invalid or the
+     *                                  resource is not found.
+     */
+    public static Image getImage(String url) {
+        return getImage(url, 0, 0);
+    }
+
+    /**
+     * Gets the {@link Image} for the specified URL, decoded to fit
+     * within the specified size, loading it if it is not cached yet.
+     * <p>
+     * The aspect ratio of the image is kept, and a size of 0 uses the
+     * size of the source image. Each requested size is cached
+     * separately.
+     * <p>
+     * Images which cannot be created, or which fail to load, are not
+     * cached; the failed Image is still returned.
+     *
+     * @param url    the String URL of the Image.
+     * @param width  the width to fit the Image within, or 0.
+     * @param height the height to fit the Image within, or 0.
+     * @return the Image.
+     * @throws IllegalArgumentException if the URL is invalid or the
+     *                                  resource is not found.
+     * @throws IllegalStateException    if a procedural card is asked
+     *                                  for off the FXThread and the
+     *                                  FXThread is too busy to draw
+     *                                  it.
+     */
+    public static Image getImage(String url, int width, int height) {
+        String key = key(url, width, height);
+        if (ProceduralCardRenderer.isProcedural(url)) {
+            // Rendered outside of the map, as rendering off the
+            // FXThread waits for the FXThread, which may itself be
+            // waiting for the map.
+            CompletableFuture<Image> future = IMAGES.get(key);
+            if (future != null) {
+                return join(future);
+            }
+            Image image = render(url, width, height);
+            future = IMAGES.putIfAbsent(key, CompletableFuture.completedFuture(image));
+            return future == null ? image : join(future);
+        }
+        CompletableFuture<Image> future = IMAGES.get(key);
+        if (future == null) {
+            CompletableFuture<Image> created = new CompletableFuture<>();
+            future = IMAGES.putIfAbsent(key, created);
+            if (future == null) {
+                decode(key, url, width, height, created);
+                future = created;
+            }
+        }
+        return join(future);
+    }
+
+    /**
+     * Gets the {@link Image} for the specified URL and size, loading
+     * it with the specified {@link Executor} if it is not cached yet.
+     * <p>
+     * The returned future is already completed if the Image is cached,
+     * and completes when the load finishes otherwise; an Image which is
+     * already being loaded is not loaded twice. Procedural cards are
+     * drawn on the FXThread instead of the Executor. The future is
+     * completed exceptionally with the exceptions of
+     * {@link CardImageCache#getImage(String, int, int)}.
+     * <p>
+     * This method does not block and MAY be called on any Thread.
+     *
+     * @param url      the String URL of the Image.
+     * @param width    the width to fit the Image within, or 0.
+     * @param height   the height to fit the Image within, or 0.
+     * @param executor the Executor to load the Image with.
+     * @return the future of the Image.
+     */
+    public static CompletableFuture<Image> getImageAsync(String url, int width, int height, Executor executor) {
+        String key = key(url, width, height);
+        CompletableFuture<Image> future = IMAGES.get(key);
+        if (future != null) {
+            return future;
+        }
+        if (ProceduralCardRenderer.isProcedural(url)) {
+            CompletableFuture<Image> rendered = new CompletableFuture<>();
+            FxWatchdog.runLater(() -> {
+                try {
+                    rendered.complete(getImage(url, width, height));
+                } catch (RuntimeException e) {
+                    rendered.completeExceptionally(e);
+                }
+            });
+            return rendered;
+        }
+        CompletableFuture<Image> created = new CompletableFuture<>();
+        future = IMAGES.putIfAbsent(key, created);
+        if (future != null) {
+            return future;
+        }
+        try {
+            executor.execute(() -> decode(key, url, width, height, created));
+        } catch (RejectedExecutionException e) {
+            IMAGES.remove(key, created);
+            created.completeExceptionally(e);
+        }
+        return created;
+    }
+
+    /**
+     * Sets the {@link DiskPixelCache} which decoded Images are read
+     * from and written to, so each image is only decoded from its
+     * source once. Images already cached in memory are kept.
+     *
+     * @param cache the DiskPixelCache to use, or null to always
+     *              decode Images from their source.
+     */
+    public static void setDiskCache(DiskPixelCache cache) {
+        diskCache = cache;
+    }
+
+    public static DiskPixelCache getDiskCache() {
+        return diskCache;
+    }
+
+    private static String key(String url, int width, int height) {
+        return width == 0 && height == 0 ? url : url + '\u0000' + width + 'x' + height;
+    }
+
+    private static Image render(String url, int width, int height) {
+        ImageDecodeEvent event = new ImageDecodeEvent();
+        event.begin();
+        Image image = ProceduralCardRenderer.render(url, width, height);
+        event.end();
+        if (event.shouldCommit()) {
+            event.setImage(url, (int) image.getWidth(), (int) image.getHeight());
+            event.commit();
+        }
+        return image;
+    }
+
+    private static Image join(CompletableFuture<Image> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Loads the Image into the future, which is already in the map
+     * under the key. Images which fail are removed from the map again,
+     * so they are loaded again on the next request, as the failure MAY
+     * be transient.
+     */
+    private static void decode(String key, String url, int width, int height, CompletableFuture<Image> future) {
+        DiskPixelCache disk = diskCache;
+        ImageDecodeEvent event = new ImageDecodeEvent();
+        event.begin();
+        Image image;
+        boolean fromDisk;
+        try {
+            image = disk != null ? disk.load(url, width, height) : null;
+            fromDisk = image != null;
+            if (!fromDisk) {
+                image = width == 0 && height == 0 ? new Image(url) : new Image(url, width, height, true, true);
+            }
+        } catch (RuntimeException e) {
+            IMAGES.remove(key, future);
+            future.completeExceptionally(e);
+            return;
+        } catch (Error e) {
+            // Completed before rethrowing, so Threads waiting for the
+            // Image are not left waiting forever.
+            IMAGES.remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            if (image.isError()) {
+                event.setImage(url, 0, 0);
+            } else {
+                event.setImage(url, (int) image.getWidth(), (int) image.getHeight());
+            }
+            event.setFromDiskCache(fromDisk);
+            event.commit();
+        }
+        if (image.isError()) {
+            IMAGES.remove(key, future);
+        }
+        future.complete(image);
+        // Written once the Image is published, so Threads waiting for
+        // it do not wait for the disk as well.
+        if (disk != null && !fromDisk) {
+            disk.store(url, width, height, image);
+        }
+    }
+
+    /**
+     * Returns whether the {@link Image} for the specified URL is
+     * cached, or is being loaded.
+     *
+     * @param url the String URL of the Image.
+     * @return true if the Image is cached.
+     */
+    public static boolean contains(String url) {
+        return IMAGES.containsKey(url);
+    }
+
+    /**
+     * Gets the number of cached {@link Image}s, counting each size
+     * of an Image.
+     *
+     * @return the number of cached Images.
+     */
+    public static int size() {
+        return IMAGES.size();
+    }
+
+    /**
+     * Estimates the memory used by the decoded pixels of the cached
+     * {@link Image}s, at four bytes per pixel.
+     * <p>
+     * Images which are still loading or failed to load are not
+     * counted.
+     *
+     * @return the estimated size of the cache, in bytes.
+     */
+    public static long getByteCount() {
+        long bytes = 0;
+        for (CompletableFuture<Image> future : IMAGES.values()) {
+            Image image = future.isCompletedExceptionally() ? null : future.getNow(null);
+            if (image != null && !image.isError() && image.getProgress() >= 1) {
+                bytes += (long) image.getWidth() * (long) image.getHeight() * 4;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Removes every {@link Image} from the cache. Images already
+     * shown by {@link CardImageView}s are kept by them.
+     */
+    public static void clear() {
+        IMAGES.clear();
+    }
+}
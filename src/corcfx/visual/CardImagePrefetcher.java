@@ -0,0 +1,213 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.visual;
+
+import corc.structure.ICard;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decodes the front images of upcoming cards into the
+ * {@link CardImageCache} ahead of time, so that cards do not wait on
+ * decoding when they are dealt.
+ * <p>
+ * The model gives the order the cards will be dealt in with
+ * {@link CardImagePrefetcher#setUpcoming(List)}, such as a shuffled
+ * deck, and the cursor into that order is advanced as cards are dealt.
+ * Only the cards within a bounded window after the cursor are decoded,
+ * so a large deck is not decoded all at once. Images are decoded on a
+ * shared pool of low priority daemon Threads, which also decodes the
+ * smaller images of {@link CardImageView}s with level of detail.
+ * <p>
+ * A {@link VisualHand} given a prefetcher with
+ * {@link VisualHand#setPrefetcher(CardImagePrefetcher)} advances the
+ * cursor itself whenever cards are added through its listener. One
+ * prefetcher SHOULD be shared by every hand a deck is dealt to.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @param <C> the class of the cards.
+ */
+public final class CardImagePrefetcher<C extends ICard> {
+
+    public static final int DEFAULT_WINDOW = 8;
+
+    static final ExecutorService POOL = Executors.newFixedThreadPool(
+            Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() - 1)),
+            runnable -> {
+                Thread thread = new Thread(runnable, "CORCFX Image Prefetch");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.NORM_PRIORITY - 1);
+                return thread;
+            });
+
+    private final CardUrlResolver<C> urlResolver;
+    private final int window;
+    private final AtomicInteger prefetchedCount = new AtomicInteger();
+
+    private List<C> upcoming = Collections.emptyList();
+    private int cursor;
+    private int scheduledTo;
+    private volatile long generation;
+
+    /**
+     * Constructs a prefetcher with a window of
+     * {@value #DEFAULT_WINDOW} cards.
+     *
+     * @param urlResolver the CardUrlResolver used by the views of the
+     *                    cards.
+     */
+    public CardImagePrefetcher(CardUrlResolver<C> urlResolver) {
+        this(urlResolver, DEFAULT_WINDOW);
+    }
+
+    /**
+     * Constructs a prefetcher.
+     *
+     * @param urlResolver the CardUrlResolver used by the views of the
+     *                    cards.
+     * @param window      how many cards after the cursor are decoded
+     *                    ahead of time; at least 1.
+     */
+    public CardImagePrefetcher(CardUrlResolver<C> urlResolver, int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("window must be at least 1: " + window);
+        }
+        this.urlResolver = urlResolver;
+        this.window = window;
+    }
+
+    /**
+     * Sets the cards that will be dealt, in order, and starts decoding
+     * the first of them. The cursor is moved to the first card, and any
+     * decoding still queued for the previous cards is dropped.
+     *
+     * @param cards the upcoming cards, first dealt first.
+     */
+    public synchronized void setUpcoming(List<? extends C> cards) {
+        this.upcoming = new ArrayList<>(cards);
+        this.cursor = 0;
+        this.scheduledTo = 0;
+        this.generation++;
+        if (!this.upcoming.isEmpty()) {
+            this.submit(this.urlResolver.getCardBackURL(this.upcoming.get(0)));
+        }
+        this.schedule();
+    }
+
+    /**
+     * Moves the cursor past the specified cards, which have been
+     * dealt, and decodes the cards which enter the window.
+     * <p>
+     * Cards are looked for from the cursor to the end of the window,
+     * so cards dealt slightly out of order are still found. Cards
+     * which are not found are ignored.
+     *
+     * @param cards the cards that were dealt.
+     */
+    public synchronized void cardsDealt(Collection<? extends C> cards) {
+        for (C card : cards) {
+            int end = Math.min(this.upcoming.size(), this.cursor + this.window);
+            for (int i = this.cursor; i < end; i++) {
+                if (this.upcoming.get(i).equals(card)) {
+                    if (i == this.cursor) {
+                        this.cursor++;
+                    } else {
+                        // Keeps the skipped cards ahead of the cursor.
+                        this.upcoming.add(this.cursor, this.upcoming.remove(i));
+                        this.cursor++;
+                    }
+                    break;
+                }
+            }
+        }
+        this.schedule();
+    }
+
+    /**
+     * Moves the cursor forwards by the specified number of cards, and
+     * decodes the cards which enter the window.
+     *
+     * @param count the number of cards dealt.
+     */
+    public synchronized void advance(int count) {
+        this.cursor = Math.min(this.upcoming.size(), this.cursor + Math.max(0, count));
+        this.schedule();
+    }
+
+    /**
+     * Gets the index of the next card to be dealt.
+     *
+     * @return the cursor.
+     */
+    public synchronized int getCursor() {
+        return this.cursor;
+    }
+
+    public int getWindow() {
+        return this.window;
+    }
+
+    /**
+     * Gets the number of images decoded by this, not counting images
+     * which were already cached.
+     *
+     * @return the number of prefetched images.
+     */
+    public int getPrefetchedCount() {
+        return this.prefetchedCount.get();
+    }
+
+    private void schedule() {
+        int end = Math.min(this.upcoming.size(), this.cursor + this.window);
+        for (int i = Math.max(this.scheduledTo, this.cursor); i < end; i++) {
+            this.submit(this.urlResolver.getCardFrontURL(this.upcoming.get(i)));
+        }
+        this.scheduledTo = Math.max(this.scheduledTo, end);
+    }
+
+    private void submit(String url) {
+        if (CardImageCache.contains(url)) {
+            return;
+        }
+        long submitted = this.generation;
+        POOL.execute(() -> {
+            if (submitted != this.generation || CardImageCache.contains(url)) {
+                return;
+            }
+            try {
+                CardImageCache.getImage(url);
+                this.prefetchedCount.incrementAndGet();
+            } catch (IllegalArgumentException e) {
+                System.err.println("Invalid URL or resource not found: " + url);
+                e.printStackTrace();
+            } catch (IllegalStateException e) {
+                // A procedural card the FXThread was too busy to draw;
+                // it is drawn when it is shown instead.
+            }
+        });
+    }
+}
@@ -21,8 +21,15 @@
 package corcfx.visual;
 
 import corc.structure.ICard;
+import java.util.concurrent.CompletableFuture;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.Scene;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.transform.Transform;
+import javafx.stage.Window;
 
 /**
  * Visual card representation.
@@ -30,30 +37,75 @@ import javafx.scene.image.ImageView;
  * Uses a front image and a back image that can be switched
  * between to represent a card as either face-up or face-down.
  * <p>
- * If either {@link Image} is unable to be created, no image
- * will be shown by this. An exception's stack trace will be
- * printed to the standard error stream.
+ * Images are obtained from the {@link CardImageCache}, so every
+ * CardImageView of the same card shares the same Images. Only the
+ * shown image is loaded when this is created; the other image is
+ * loaded the first time it is shown.
+ * <p>
+ * If an {@link Image} is unable to be created, no image will be
+ * shown by this while that side is up. An exception's stack trace
+ * will be printed to the standard error stream.
+ * <p>
+ * The size of the card is cached and published through
+ * {@link CardMetrics}. The cache is only cleared when the image or
+ * the fit of this changes.
+ * <p>
+ * When level of detail is enabled, this shows a smaller variant of
+ * its image whenever it is drawn scaled down, such as in a zoomed-out
+ * table. Each level halves the width and height of the image, and the
+ * level is chosen from the scale of this in the {@link Scene} and the
+ * render scale of its {@link Window}, so the shown image has at least
+ * as many pixels as are covered on screen. The levels of every view
+ * of a Scene are updated together once per pulse, after layout. The
+ * smaller variants are decoded on a background Thread, and the full
+ * image is shown until they are ready. The laid out size of this does
+ * not change with the level.
  *
  * @param <C>
  */
-public class CardImageView<C extends ICard> extends ImageView {
+public class CardImageView<C extends ICard> extends ImageView implements CardMetrics {
+
+    public static final int MAX_LEVEL_OF_DETAIL = 3;
+
+    private static volatile boolean defaultLevelOfDetailEnabled;
 
     private final C card;
     private final CardUrlResolver<C> urlResolver;
     private Image frontImage;
     private Image backImage;
+    private boolean frontRequested;
+    private boolean backRequested;
     private boolean isFaceUp;
+    private double cardWidth = Double.NaN;
+    private double cardHeight = Double.NaN;
+    private boolean levelOfDetailEnabled;
+    private int levelOfDetail;
+    private String variantKey;
+    private CompletableFuture<Image> variant;
+    private boolean variantApplied; // Whether the variant was shown, or failed.
+    private boolean fitManaged;
+    private boolean settingFit;
+    private final ChangeListener<Scene> sceneListener = (observable, oldScene, newScene) -> {
+        if (oldScene != null) {
+            LevelOfDetailUpdater.unregister(this, oldScene);
+        }
+        if (newScene != null) {
+            LevelOfDetailUpdater.register(this, newScene);
+        }
+    };
 
     /**
      * Copy constructor.
      * <p>
      * Uses the same card and CardURLResolver instances as the
-     * specified CardImageView as well as the same face-up value.
+     * specified CardImageView as well as the same face-up and level
+     * of detail values.
      *
      * @param civ the CardImageView to be copied.
      */
     public CardImageView(CardImageView<C> civ) {
         this(civ.card, civ.urlResolver, civ.isFaceUp);
+        this.setLevelOfDetailEnabled(civ.levelOfDetailEnabled);
     }
 
     /**
@@ -85,17 +137,94 @@ public class CardImageView<C extends ICard> extends ImageView {
         this.urlResolver = urlResolver;
         this.isFaceUp = isFaceUp;
 
-        try {
-            frontImage = new Image(urlResolver.getCardFrontURL(card));
-            backImage = new Image(urlResolver.getCardBackURL(card));
-        } catch (IllegalArgumentException e) {
-            this.frontImage = null;
-            this.backImage = null;
-            System.err.println("Invalid URL or resource not found: " + card.getDescription());
-            e.printStackTrace();
-        }
+        InvalidationListener clearMetrics = observable -> {
+            this.cardWidth = Double.NaN;
+            this.cardHeight = Double.NaN;
+        };
+        this.imageProperty().addListener(clearMetrics);
+        this.fitWidthProperty().addListener(clearMetrics);
+        this.fitHeightProperty().addListener(clearMetrics);
+        this.preserveRatioProperty().addListener(clearMetrics);
+        this.viewportProperty().addListener(clearMetrics);
+
+        InvalidationListener userFit = observable -> {
+            if (!this.settingFit) {
+                this.fitManaged = false;
+            }
+        };
+        this.fitWidthProperty().addListener(userFit);
+        this.fitHeightProperty().addListener(userFit);
 
         update();
+        if (defaultLevelOfDetailEnabled) {
+            this.setLevelOfDetailEnabled(true);
+        }
+    }
+
+    /**
+     * Sets whether CardImageViews created after this call have level
+     * of detail enabled.
+     *
+     * @param enabled true to enable level of detail by default.
+     */
+    public static void setDefaultLevelOfDetailEnabled(boolean enabled) {
+        defaultLevelOfDetailEnabled = enabled;
+    }
+
+    public static boolean isDefaultLevelOfDetailEnabled() {
+        return defaultLevelOfDetailEnabled;
+    }
+
+    /**
+     * Sets whether this shows smaller variants of its images when it
+     * is drawn scaled down.
+     * <p>
+     * While enabled and no fit has been set on this, the fit of this
+     * is set to the size of the full image whenever a smaller variant
+     * is shown, so the laid out size does not change. A fit set on
+     * this by the user is kept.
+     * <p>
+     * MUST be called on the FXThread once this has been added to a
+     * displayed {@link Scene}.
+     *
+     * @param enabled true to enable level of detail.
+     */
+    public void setLevelOfDetailEnabled(boolean enabled) {
+        if (this.levelOfDetailEnabled == enabled) {
+            return;
+        }
+        this.levelOfDetailEnabled = enabled;
+        Scene scene = this.getScene();
+        if (enabled) {
+            this.sceneProperty().addListener(this.sceneListener);
+            if (scene != null) {
+                LevelOfDetailUpdater.register(this, scene);
+            }
+        } else {
+            this.sceneProperty().removeListener(this.sceneListener);
+            if (scene != null) {
+                LevelOfDetailUpdater.unregister(this, scene);
+            }
+            if (this.levelOfDetail != 0) {
+                this.levelOfDetail = 0;
+                this.update();
+            }
+        }
+    }
+
+    public boolean isLevelOfDetailEnabled() {
+        return this.levelOfDetailEnabled;
+    }
+
+    /**
+     * Gets the level of detail shown by this. Level 0 is the full
+     * image, and each level above halves its width and height, up to
+     * {@value #MAX_LEVEL_OF_DETAIL}.
+     *
+     * @return the level of detail.
+     */
+    public int getLevelOfDetail() {
+        return this.levelOfDetail;
     }
 
     /**
@@ -121,6 +250,51 @@ public class CardImageView<C extends ICard> extends ImageView {
         return this.isFaceUp;
     }
 
+    /**
+     * Gets the width of the shown image, as laid out.
+     * <p>
+     * The value is cached until the image or fit of this changes.
+     * It is not cached while the image is still loading.
+     *
+     * @return the width of this.
+     */
+    @Override
+    public double getCardWidth() {
+        if (!Double.isNaN(this.cardWidth)) {
+            return this.cardWidth;
+        }
+        double width = this.getLayoutBounds().getWidth();
+        if (this.isImageLoaded()) {
+            this.cardWidth = width;
+        }
+        return width;
+    }
+
+    /**
+     * Gets the height of the shown image, as laid out.
+     * <p>
+     * The value is cached until the image or fit of this changes.
+     * It is not cached while the image is still loading.
+     *
+     * @return the height of this.
+     */
+    @Override
+    public double getCardHeight() {
+        if (!Double.isNaN(this.cardHeight)) {
+            return this.cardHeight;
+        }
+        double height = this.getLayoutBounds().getHeight();
+        if (this.isImageLoaded()) {
+            this.cardHeight = height;
+        }
+        return height;
+    }
+
+    private boolean isImageLoaded() {
+        Image image = this.getImage();
+        return image == null || image.isError() || image.getProgress() >= 1;
+    }
+
     public C getCard() {
         return this.card;
     }
@@ -130,8 +304,131 @@ public class CardImageView<C extends ICard> extends ImageView {
     }
 
     private void update() {
+        if (this.isFaceUp && !this.frontRequested) {
+            this.frontRequested = true;
+            this.frontImage = loadImage(this.urlResolver.getCardFrontURL(this.card), 0, 0);
+        } else if (!this.isFaceUp && !this.backRequested) {
+            this.backRequested = true;
+            this.backImage = loadImage(this.urlResolver.getCardBackURL(this.card), 0, 0);
+        }
+        Image image = this.isFaceUp ? this.frontImage : this.backImage;
+        Image variant = this.levelOfDetail == 0 ? null : this.getVariant(image);
+        this.variantApplied = this.variant == null || this.variant.isDone();
+        if (variant == null) {
+            this.releaseFit();
+            this.setImage(image);
+        } else {
+            this.manageFit(image);
+            this.setImage(variant);
+        }
+    }
+
+    /**
+     * Gets the variant of the image at the current level, requesting
+     * it from the background Threads if it was not requested yet.
+     *
+     * @return the variant, or null while it is not ready or if it
+     * failed.
+     */
+    private Image getVariant(Image image) {
+        if (image == null || image.getWidth() <= 0) {
+            return null;
+        }
+        String url = this.isFaceUp
+                ? this.urlResolver.getCardFrontURL(this.card)
+                : this.urlResolver.getCardBackURL(this.card);
+        int divisor = 1 << this.levelOfDetail;
+        int width = Math.max(1, (int) Math.round(image.getWidth() / divisor));
+        int height = Math.max(1, (int) Math.round(image.getHeight() / divisor));
+        String key = url + '\u0000' + width + 'x' + height;
+        if (!key.equals(this.variantKey)) {
+            this.variantKey = key;
+            CompletableFuture<Image> requested =
+                    CardImageCache.getImageAsync(url, width, height, CardImagePrefetcher.POOL);
+            this.variant = requested;
+            if (!requested.isDone()) {
+                // Shown by the next level of detail update.
+                requested.whenComplete((loaded, throwable) -> Platform.requestNextPulse());
+            }
+        }
+        if (!this.variant.isDone() || this.variant.isCompletedExceptionally()) {
+            return null;
+        }
+        Image loaded = this.variant.join();
+        return loaded.isError() ? null : loaded;
+    }
+
+    /**
+     * Updates the level of detail of this from its current scale, and
+     * shows the variant of the level once it has been loaded. Called
+     * by the {@link LevelOfDetailUpdater} of its Scene.
+     */
+    void updateLevelOfDetail() {
+        int level = this.computeLevelOfDetail();
+        if (level != this.levelOfDetail) {
+            this.levelOfDetail = level;
+            this.update();
+        } else if (level != 0 && !this.variantApplied && this.variant.isDone()) {
+            this.update();
+        }
+    }
+
+    private int computeLevelOfDetail() {
+        Scene scene = this.getScene();
         Image image = this.isFaceUp ? this.frontImage : this.backImage;
-        this.setImage(image);
+        if (scene == null || image == null || image.getWidth() <= 0) {
+            return 0;
+        }
+        Transform transform = this.getLocalToSceneTransform();
+        double scale = Math.max(
+                Math.hypot(transform.getMxx(), transform.getMyx()),
+                Math.hypot(transform.getMxy(), transform.getMyy()));
+        Window window = scene.getWindow();
+        if (window != null) {
+            scale *= Math.max(window.getRenderScaleX(), window.getRenderScaleY());
+        }
+        double shownWidth = this.getLayoutBounds().getWidth() * scale;
+        if (shownWidth <= 0) {
+            return this.levelOfDetail;
+        }
+        double ratio = image.getWidth() / shownWidth;
+        int level = 0;
+        while (level < MAX_LEVEL_OF_DETAIL && ratio >= 2 << level) {
+            level++;
+        }
+        return level;
+    }
+
+    private void manageFit(Image image) {
+        if (!this.fitManaged && (this.getFitWidth() != 0 || this.getFitHeight() != 0)) {
+            return; // The user's fit.
+        }
+        this.settingFit = true;
+        this.setFitWidth(image.getWidth());
+        this.setFitHeight(image.getHeight());
+        this.settingFit = false;
+        this.fitManaged = true;
+    }
+
+    private void releaseFit() {
+        if (!this.fitManaged) {
+            return;
+        }
+        this.settingFit = true;
+        this.setFitWidth(0);
+        this.setFitHeight(0);
+        this.settingFit = false;
+        this.fitManaged = false;
+    }
+
+    private Image loadImage(String url, int width, int height) {
+        try {
+            return CardImageCache.getImage(url, width, height);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid URL or resource not found: " + card.getDescription());
+            e.printStackTrace();
+            return null;
+        }
     }
 
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.visual;
+
+/**
+ * A {@link javafx.scene.Node} that publishes its own size, so that
+ * panes laying it out do not need to compute its bounds.
+ * <p>
+ * Implementations SHOULD cache the size and only recompute it after a
+ * change that can affect it, such as a new image or scale.
+ */
+public interface CardMetrics {
+
+    /**
+     * Gets the width of the card, in its local coordinates.
+     *
+     * @return the width of the card.
+     */
+    double getCardWidth();
+
+    /**
+     * Gets the height of the card, in its local coordinates.
+     *
+     * @return the height of the card.
+     */
+    double getCardHeight();
+}
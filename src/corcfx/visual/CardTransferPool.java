@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.visual;
+
+import corc.structure.ICard;
+import corcfx.Point;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+
+/**
+ * Hands over {@link CardImageView}s between the {@link VisualHand}s
+ * sharing it, so that a card moved between hands keeps its view.
+ * <p>
+ * When a VisualHand with a pool removes a card, its CardImageView is
+ * parked here along with its last position in the
+ * {@link javafx.scene.Scene}. When a VisualHand with the same pool
+ * and the same {@link CardUrlResolver} then adds that card, it adopts
+ * the parked CardImageView, with its images and face-up state, instead
+ * of creating a new one. The adopted view is moved in from its last
+ * position when the adopting hand has a {@link LayoutAnimator}.
+ * <p>
+ * Only the most recently parked views are kept, up to the capacity of
+ * the pool. All methods MUST be called on the FXThread.
+ *
+ * @param <C>
+ */
+public class CardTransferPool<C extends ICard> {
+
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private final int CAPACITY;
+    private final HashMap<C, ArrayDeque<Parked<C>>> parked = new HashMap<>();
+    private final ArrayDeque<Parked<C>> parkOrder = new ArrayDeque<>();
+    private long adoptedCount;
+
+    /**
+     * Creates a pool holding up to
+     * {@link CardTransferPool#DEFAULT_CAPACITY} views.
+     */
+    public CardTransferPool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a pool.
+     *
+     * @param capacity the most views kept at once.
+     */
+    public CardTransferPool(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.CAPACITY = capacity;
+    }
+
+    public int getCapacity() {
+        return this.CAPACITY;
+    }
+
+    /**
+     * Gets the number of views currently parked.
+     *
+     * @return the number of parked views.
+     */
+    public int size() {
+        return this.parkOrder.size();
+    }
+
+    /**
+     * Gets the number of views adopted from this so far.
+     *
+     * @return the number of adopted views.
+     */
+    public long getAdoptedCount() {
+        return this.adoptedCount;
+    }
+
+    /**
+     * Drops every parked view.
+     */
+    public void clear() {
+        this.parked.clear();
+        this.parkOrder.clear();
+    }
+
+    /**
+     * Parks a {@link CardImageView} removed from a {@link VisualHand}.
+     * Its transforms are reset so it can be laid out by any pane. If
+     * the pool is full, the oldest parked view is dropped.
+     *
+     * @param civ           the removed CardImageView.
+     * @param scenePosition the last layout position of the view in
+     *                      the Scene, or null if it was not shown.
+     */
+    void park(CardImageView<C> civ, Point scenePosition) {
+        civ.setRotate(0);
+        civ.setTranslateX(0);
+        civ.setTranslateY(0);
+        civ.getTransforms().clear();
+        civ.setViewOrder(0);
+
+        if (this.parkOrder.size() == this.CAPACITY) {
+            Parked<C> oldest = this.parkOrder.removeFirst();
+            ArrayDeque<Parked<C>> views = this.parked.get(oldest.CIV.getCard());
+            views.remove(oldest);
+            if (views.isEmpty()) {
+                this.parked.remove(oldest.CIV.getCard());
+            }
+        }
+        Parked<C> entry = new Parked<>(civ, scenePosition);
+        this.parked.computeIfAbsent(civ.getCard(), card -> new ArrayDeque<>(1)).addLast(entry);
+        this.parkOrder.addLast(entry);
+    }
+
+    /**
+     * Takes the most recently parked view of the card, if it was
+     * created using the specified {@link CardUrlResolver}.
+     *
+     * @param card     the card being added.
+     * @param resolver the CardUrlResolver of the adopting hand.
+     * @return the parked view, or null if there is none to adopt.
+     */
+    Parked<C> adopt(C card, CardUrlResolver<C> resolver) {
+        ArrayDeque<Parked<C>> views = this.parked.get(card);
+        if (views == null) {
+            return null;
+        }
+        Iterator<Parked<C>> iterator = views.descendingIterator();
+        while (iterator.hasNext()) {
+            Parked<C> entry = iterator.next();
+            if (entry.CIV.getUrlResolver() == resolver) {
+                iterator.remove();
+                if (views.isEmpty()) {
+                    this.parked.remove(card);
+                }
+                this.parkOrder.remove(entry);
+                this.adoptedCount++;
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A parked view and where it was last shown.
+     */
+    static final class Parked<C extends ICard> {
+
+        final CardImageView<C> CIV;
+        final Point SCENE_POSITION;
+
+        private Parked(CardImageView<C> civ, Point scenePosition) {
+            this.CIV = civ;
+            this.SCENE_POSITION = scenePosition;
+        }
+    }
+}
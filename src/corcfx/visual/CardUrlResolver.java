@@ -74,6 +74,48 @@ public interface CardUrlResolver<C extends ICard> {
         }
     };
 
+    /**
+     * The scheme of the URLs of
+     * {@link CardUrlResolver#PROCEDURAL_CARD_RESOLVER}.
+     */
+    String PROCEDURAL_SCHEME = "corcfx-procedural:";
+
+    /**
+     * Resolver for any {@link ICard}, whose images are drawn from the
+     * description of the card instead of being loaded from files.
+     * <p>
+     * Descriptions of the form "rank of suit", such as "Queen of
+     * Hearts", are drawn as standard cards; any other description is
+     * drawn as text. Every card has the same back.
+     * <p>
+     * The URLs can only be loaded through the {@link CardImageCache},
+     * which draws each card and size once; they cannot be used with
+     * the {@link javafx.scene.image.Image} constructor.
+     */
+    CardUrlResolver<ICard> PROCEDURAL_CARD_RESOLVER = new CardUrlResolver<>() {
+        @Override
+        public String getCardFrontURL(ICard card) {
+            return ProceduralCardRenderer.frontUrl(card.getDescription());
+        }
+
+        @Override
+        public String getCardBackURL(ICard card) {
+            return ProceduralCardRenderer.backUrl();
+        }
+    };
+
+    /**
+     * Gets {@link CardUrlResolver#PROCEDURAL_CARD_RESOLVER} for a
+     * specific class of {@link ICard}.
+     *
+     * @param <C> the class of the cards.
+     * @return the procedural resolver.
+     */
+    @SuppressWarnings("unchecked")
+    static <C extends ICard> CardUrlResolver<C> procedural() {
+        return (CardUrlResolver<C>) PROCEDURAL_CARD_RESOLVER;
+    }
+
     /**
      * Returns the cards's String URL for the front image.
      * <p>
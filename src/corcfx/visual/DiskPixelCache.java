@@ -0,0 +1,332 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.visual;
+
+import corc.core.Logger;
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+/**
+ * An on-disk cache of decoded card image pixels, so that card images
+ * only have to be decoded from PNG once per machine.
+ * <p>
+ * Each entry is a file holding a header and the premultiplied ARGB
+ * pixels of one image, for one URL and requested size. Later loads
+ * memory-map the file and copy the pixels straight into a
+ * {@link WritableImage}, without decoding the source image again.
+ * <p>
+ * Every entry records the last modified time and length of its source
+ * resource, and is ignored once the resource changes. Only images from
+ * files and jars, such as class path resources, are cached, as the
+ * source of any other URL cannot be checked cheaply.
+ * <p>
+ * Files are written in the native byte order; an entry written on a
+ * machine with a different byte order is ignored and replaced.
+ * <p>
+ * This class is thread-safe, and several processes MAY share the same
+ * directory; entries are written to a temporary file and then moved
+ * into place.
+ * <p>
+ * The cache is used by the {@link CardImageCache} once it is set with
+ * {@link CardImageCache#setDiskCache(DiskPixelCache)}.
+ */
+public final class DiskPixelCache {
+
+    private static final int MAGIC = 0x43465850; // "CFXP"
+    private static final int VERSION = 1;
+    private static final int FIXED_HEADER_BYTES = 4 * 4 + 2 * 8 + 4 * 4;
+    private static final String SUFFIX = ".argb";
+
+    private final Path directory;
+
+    /**
+     * Creates a cache which keeps its entries in the specified
+     * directory. The directory is created when the first entry is
+     * written.
+     *
+     * @param directory the directory of the entries.
+     */
+    public DiskPixelCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Gets the directory used when no other is given: the
+     * {@code .corcfx/pixel-cache} directory in the home directory of
+     * the user.
+     *
+     * @return the default directory.
+     */
+    public static Path getDefaultDirectory() {
+        return Paths.get(System.getProperty("user.home"), ".corcfx", "pixel-cache");
+    }
+
+    public Path getDirectory() {
+        return this.directory;
+    }
+
+    /**
+     * Loads the cached pixels of the image with the specified URL and
+     * requested size.
+     *
+     * @param url    the String URL of the image.
+     * @param width  the requested width, or 0 for the width of the
+     *               source image.
+     * @param height the requested height, or 0 for the height of the
+     *               source image.
+     * @return the cached image, or null if there is no valid entry.
+     */
+    public Image load(String url, int width, int height) {
+        Stamp stamp = Stamp.of(url);
+        if (stamp == null) {
+            return null;
+        }
+        Path file = this.fileFor(url, width, height);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < FIXED_HEADER_BYTES || size > Integer.MAX_VALUE) {
+                return null;
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            mapped.order(ByteOrder.nativeOrder());
+            if (mapped.getInt() != MAGIC || mapped.getInt() != VERSION
+                    || mapped.getInt() != width || mapped.getInt() != height
+                    || mapped.getLong() != stamp.modified || mapped.getLong() != stamp.length) {
+                return null;
+            }
+            int imageWidth = mapped.getInt();
+            int imageHeight = mapped.getInt();
+            int urlLength = mapped.getInt();
+            int padding = mapped.getInt();
+            if (imageWidth <= 0 || imageHeight <= 0 || urlLength < 0 || padding < 0 || padding > 3) {
+                return null;
+            }
+            byte[] urlBytes = url.getBytes(StandardCharsets.UTF_8);
+            long pixelBytes = (long) imageWidth * imageHeight * 4;
+            if (urlLength != urlBytes.length
+                    || mapped.remaining() != (long) urlLength + padding + pixelBytes) {
+                return null;
+            }
+            for (byte b : urlBytes) {
+                if (mapped.get() != b) {
+                    return null;
+                }
+            }
+            mapped.position(mapped.position() + padding);
+
+            int[] pixels = new int[imageWidth * imageHeight];
+            mapped.slice().order(ByteOrder.nativeOrder()).asIntBuffer().get(pixels);
+            WritableImage image = new WritableImage(imageWidth, imageHeight);
+            image.getPixelWriter().setPixels(0, 0, imageWidth, imageHeight,
+                    PixelFormat.getIntArgbPreInstance(), pixels, 0, imageWidth);
+            return image;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            Logger.logWarning("Failed to read cached pixels of " + url + ": " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the pixels of the image with the specified URL and
+     * requested size, replacing any existing entry. Images which are
+     * still loading or failed to load are not written.
+     *
+     * @param url    the String URL of the image.
+     * @param width  the requested width, or 0 for the width of the
+     *               source image.
+     * @param height the requested height, or 0 for the height of the
+     *               source image.
+     * @param image  the decoded image.
+     */
+    public void store(String url, int width, int height, Image image) {
+        if (image.isError() || image.getProgress() < 1 || image.getPixelReader() == null) {
+            return;
+        }
+        Stamp stamp = Stamp.of(url);
+        if (stamp == null) {
+            return;
+        }
+        int imageWidth = (int) image.getWidth();
+        int imageHeight = (int) image.getHeight();
+        byte[] urlBytes = url.getBytes(StandardCharsets.UTF_8);
+        int padding = (4 - urlBytes.length % 4) % 4;
+
+        ByteBuffer buffer = ByteBuffer.allocate(FIXED_HEADER_BYTES + urlBytes.length + padding
+                + imageWidth * imageHeight * 4).order(ByteOrder.nativeOrder());
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(width).putInt(height)
+                .putLong(stamp.modified).putLong(stamp.length)
+                .putInt(imageWidth).putInt(imageHeight).putInt(urlBytes.length).putInt(padding)
+                .put(urlBytes).put(new byte[padding]);
+        IntBuffer pixels = buffer.slice().order(ByteOrder.nativeOrder()).asIntBuffer();
+        image.getPixelReader().getPixels(0, 0, imageWidth, imageHeight,
+                PixelFormat.getIntArgbPreInstance(), pixels, imageWidth);
+        buffer.rewind();
+
+        Path file = this.fileFor(url, width, height);
+        Path temporary = null;
+        try {
+            Files.createDirectories(this.directory);
+            temporary = Files.createTempFile(this.directory, file.getFileName().toString(), ".tmp");
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            try {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            Logger.logWarning("Failed to cache pixels of " + url + ": " + e);
+            if (temporary != null) {
+                try {
+                    Files.deleteIfExists(temporary);
+                } catch (IOException ignored) {
+                    // Left for the next clear.
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes every entry of this cache, and any temporary file left
+     * behind by an interrupted write.
+     *
+     * @throws IOException if an entry could not be deleted.
+     */
+    public void clear() throws IOException {
+        if (!Files.isDirectory(this.directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory, "*{" + SUFFIX + ",.tmp}")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private Path fileFor(String url, int width, int height) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((url + '\n' + width + 'x' + height).getBytes(StandardCharsets.UTF_8));
+            StringBuilder name = new StringBuilder(32 + SUFFIX.length());
+            for (int i = 0; i < 16; i++) {
+                name.append(Character.forDigit((hash[i] >> 4) & 0xF, 16));
+                name.append(Character.forDigit(hash[i] & 0xF, 16));
+            }
+            return this.directory.resolve(name.append(SUFFIX).toString());
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The last modified time and length of the source resource of an
+     * image.
+     */
+    private static final class Stamp {
+
+        /**
+         * Stamps of resources in jars, which do not change while the
+         * jar is in use, so each is only looked up once.
+         */
+        private static final ConcurrentHashMap<String, Stamp> JAR_STAMPS = new ConcurrentHashMap<>();
+
+        private final long modified;
+        private final long length;
+
+        private Stamp(long modified, long length) {
+            this.modified = modified;
+            this.length = length;
+        }
+
+        /**
+         * Resolves the URL the way {@link Image} does, treating a URL
+         * without a scheme as a class path resource.
+         *
+         * @return the stamp, or null if the source cannot be checked.
+         */
+        private static Stamp of(String url) {
+            Stamp stamp = JAR_STAMPS.get(url);
+            if (stamp != null) {
+                return stamp;
+            }
+            URL resource;
+            try {
+                resource = new URL(url);
+            } catch (MalformedURLException e) {
+                ClassLoader loader = Thread.currentThread().getContextClassLoader();
+                if (loader == null) {
+                    loader = DiskPixelCache.class.getClassLoader();
+                }
+                resource = loader.getResource(url.startsWith("/") ? url.substring(1) : url);
+                if (resource == null) {
+                    return null;
+                }
+            }
+            try {
+                switch (resource.getProtocol()) {
+                    case "file":
+                        Path path = Paths.get(resource.toURI());
+                        return new Stamp(Files.getLastModifiedTime(path).toMillis(), Files.size(path));
+                    case "jar":
+                        URLConnection connection = resource.openConnection();
+                        stamp = new Stamp(((JarURLConnection) connection).getJarEntry().getTime(),
+                                connection.getContentLengthLong());
+                        JAR_STAMPS.put(url, stamp);
+                        return stamp;
+                    default:
+                        return null;
+                }
+            } catch (IOException | URISyntaxException | RuntimeException e) {
+                return null;
+            }
+        }
+    }
+}
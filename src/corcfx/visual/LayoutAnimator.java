@@ -0,0 +1,279 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.visual;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import javafx.animation.AnimationTimer;
+import javafx.animation.Interpolator;
+import javafx.scene.Node;
+
+/**
+ * Moves {@link Node}s to new layout positions over time using a
+ * single {@link AnimationTimer}.
+ * <p>
+ * Every moving Node is stored as an entry in parallel primitive
+ * arrays holding its start position, end position and start time.
+ * Each pulse all entries are interpolated in a single pass and
+ * finished entries are dropped, so a full deck in motion costs one
+ * timer and no per-Node animation objects.
+ * <p>
+ * One instance SHOULD be shared by every pane of a table. All methods
+ * MUST be called on the FXThread.
+ */
+public class LayoutAnimator {
+
+    public static final double DEFAULT_DURATION_MILLIS = 250;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            step(now);
+        }
+    };
+
+    private final HashMap<Node, Integer> indexes = new HashMap<>();
+    private Node[] nodes = new Node[INITIAL_CAPACITY];
+    private double[] startX = new double[INITIAL_CAPACITY];
+    private double[] startY = new double[INITIAL_CAPACITY];
+    private double[] endX = new double[INITIAL_CAPACITY];
+    private double[] endY = new double[INITIAL_CAPACITY];
+    private long[] startTimes = new long[INITIAL_CAPACITY];
+    private int count;
+
+    private long durationNanos;
+    private Interpolator interpolator = Interpolator.EASE_OUT;
+    private boolean running;
+
+    /**
+     * Creates a LayoutAnimator using the
+     * {@link LayoutAnimator#DEFAULT_DURATION_MILLIS} duration.
+     */
+    public LayoutAnimator() {
+        this(DEFAULT_DURATION_MILLIS);
+    }
+
+    /**
+     * Creates a LayoutAnimator.
+     *
+     * @param durationMillis how long each move takes, in milliseconds.
+     */
+    public LayoutAnimator(double durationMillis) {
+        setDuration(durationMillis);
+    }
+
+    /**
+     * Sets how long each move takes. Moves already in progress keep
+     * their start time and use the new duration.
+     *
+     * @param durationMillis the duration in milliseconds.
+     */
+    public void setDuration(double durationMillis) {
+        if (durationMillis < 0) {
+            throw new IllegalArgumentException("Duration must not be negative: " + durationMillis);
+        }
+        this.durationNanos = (long) (durationMillis * 1_000_000);
+    }
+
+    /**
+     * Sets the {@link Interpolator} used to ease every move.
+     *
+     * @param interpolator the Interpolator to use.
+     */
+    public void setInterpolator(Interpolator interpolator) {
+        this.interpolator = interpolator;
+    }
+
+    /**
+     * Moves the {@link Node} from its current layout position to the
+     * specified layout position.
+     * <p>
+     * If the Node is already moving, its move is restarted from its
+     * current position towards the new position.
+     *
+     * @param node the Node to move.
+     * @param x    the final layoutX.
+     * @param y    the final layoutY.
+     */
+    public void animateTo(Node node, double x, double y) {
+        if (this.durationNanos == 0) {
+            this.stop(node);
+            node.setLayoutX(x);
+            node.setLayoutY(y);
+            return;
+        }
+
+        Integer existing = this.indexes.get(node);
+        int i;
+        if (existing != null) {
+            i = existing;
+        } else {
+            if (node.getLayoutX() == x && node.getLayoutY() == y) {
+                return; // Already in place.
+            }
+            ensureCapacity(this.count + 1);
+            i = this.count++;
+            this.nodes[i] = node;
+            this.indexes.put(node, i);
+        }
+
+        this.startX[i] = node.getLayoutX();
+        this.startY[i] = node.getLayoutY();
+        this.endX[i] = x;
+        this.endY[i] = y;
+        this.startTimes[i] = -1; // Set on the next pulse.
+
+        if (!this.running) {
+            this.running = true;
+            this.timer.start();
+        }
+    }
+
+    /**
+     * Returns whether the {@link Node} is currently being moved.
+     *
+     * @param node the Node.
+     * @return true if the Node is being moved.
+     */
+    public boolean isAnimating(Node node) {
+        return this.indexes.containsKey(node);
+    }
+
+    /**
+     * Returns the layoutX the {@link Node} is moving to, or its
+     * current layoutX if it is not being moved.
+     *
+     * @param node the Node.
+     * @return the final layoutX of the Node.
+     */
+    public double getTargetX(Node node) {
+        Integer i = this.indexes.get(node);
+        return i == null ? node.getLayoutX() : this.endX[i];
+    }
+
+    /**
+     * Returns the layoutY the {@link Node} is moving to, or its
+     * current layoutY if it is not being moved.
+     *
+     * @param node the Node.
+     * @return the final layoutY of the Node.
+     */
+    public double getTargetY(Node node) {
+        Integer i = this.indexes.get(node);
+        return i == null ? node.getLayoutY() : this.endY[i];
+    }
+
+    /**
+     * Stops moving the {@link Node}, leaving it at its current
+     * position.
+     *
+     * @param node the Node to stop.
+     */
+    public void stop(Node node) {
+        Integer i = this.indexes.get(node);
+        if (i != null) {
+            removeEntry(i);
+        }
+    }
+
+    /**
+     * Moves every {@link Node} to its final position immediately.
+     */
+    public void finishAll() {
+        for (int i = 0; i < this.count; i++) {
+            this.nodes[i].setLayoutX(this.endX[i]);
+            this.nodes[i].setLayoutY(this.endY[i]);
+        }
+        clear();
+    }
+
+    /**
+     * Returns the number of {@link Node}s currently being moved.
+     *
+     * @return the number of moving Nodes.
+     */
+    public int getActiveCount() {
+        return this.count;
+    }
+
+    private void step(long now) {
+        int i = 0;
+        while (i < this.count) {
+            if (this.startTimes[i] < 0) {
+                this.startTimes[i] = now;
+            }
+            double t = this.durationNanos == 0 ? 1 : (double) (now - this.startTimes[i]) / this.durationNanos;
+            Node node = this.nodes[i];
+            if (t >= 1) {
+                node.setLayoutX(this.endX[i]);
+                node.setLayoutY(this.endY[i]);
+                removeEntry(i); // Moves the last entry into i.
+            } else {
+                double f = this.interpolator.interpolate(0.0, 1.0, t);
+                node.setLayoutX(this.startX[i] + (this.endX[i] - this.startX[i]) * f);
+                node.setLayoutY(this.startY[i] + (this.endY[i] - this.startY[i]) * f);
+                i++;
+            }
+        }
+    }
+
+    private void removeEntry(int i) {
+        this.indexes.remove(this.nodes[i]);
+        int last = --this.count;
+        if (i != last) {
+            this.nodes[i] = this.nodes[last];
+            this.startX[i] = this.startX[last];
+            this.startY[i] = this.startY[last];
+            this.endX[i] = this.endX[last];
+            this.endY[i] = this.endY[last];
+            this.startTimes[i] = this.startTimes[last];
+            this.indexes.put(this.nodes[i], i);
+        }
+        this.nodes[last] = null;
+        if (this.count == 0) {
+            this.running = false;
+            this.timer.stop();
+        }
+    }
+
+    private void clear() {
+        Arrays.fill(this.nodes, 0, this.count, null);
+        this.indexes.clear();
+        this.count = 0;
+        this.running = false;
+        this.timer.stop();
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= this.nodes.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, this.nodes.length * 2);
+        this.nodes = Arrays.copyOf(this.nodes, newLength);
+        this.startX = Arrays.copyOf(this.startX, newLength);
+        this.startY = Arrays.copyOf(this.startY, newLength);
+        this.endX = Arrays.copyOf(this.endX, newLength);
+        this.endY = Arrays.copyOf(this.endY, newLength);
+        this.startTimes = Arrays.copyOf(this.startTimes, newLength);
+    }
+}
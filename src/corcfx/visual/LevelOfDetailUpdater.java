@@ -0,0 +1,106 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.visual;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Set;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+
+/**
+ * Updates the level of detail of every {@link CardImageView} of a
+ * {@link Scene} which has it enabled, once per pulse after layout.
+ * <p>
+ * A single post-layout pulse listener per Scene is used instead of a
+ * listener on the transform of every view, so moving or zooming many
+ * cards costs one pass over the views per pulse, and no posted tasks.
+ * The transform of a view which has not moved is cached by the view,
+ * so reading it is cheap.
+ * <p>
+ * The updater of a Scene is kept in its properties while it has views.
+ * All methods MUST be called on the FXThread.
+ */
+final class LevelOfDetailUpdater {
+
+    private static final Object KEY = LevelOfDetailUpdater.class;
+
+    private final Scene scene;
+    private final Set<CardImageView<?>> views = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Runnable pulseListener = this::update;
+
+    private LevelOfDetailUpdater(Scene scene) {
+        this.scene = scene;
+    }
+
+    /**
+     * Starts updating the view while it is in the Scene, from the next
+     * pulse on.
+     *
+     * @param view  the view.
+     * @param scene the Scene of the view.
+     */
+    static void register(CardImageView<?> view, Scene scene) {
+        LevelOfDetailUpdater updater = (LevelOfDetailUpdater) scene.getProperties().get(KEY);
+        if (updater == null) {
+            updater = new LevelOfDetailUpdater(scene);
+            scene.getProperties().put(KEY, updater);
+            scene.addPostLayoutPulseListener(updater.pulseListener);
+        }
+        if (updater.views.add(view)) {
+            Platform.requestNextPulse();
+        }
+    }
+
+    /**
+     * Stops updating the view. The pulse listener is removed once the
+     * Scene has no views left.
+     *
+     * @param view  the view.
+     * @param scene the Scene the view was in.
+     */
+    static void unregister(CardImageView<?> view, Scene scene) {
+        LevelOfDetailUpdater updater = (LevelOfDetailUpdater) scene.getProperties().get(KEY);
+        if (updater == null) {
+            return;
+        }
+        updater.views.remove(view);
+        if (updater.views.isEmpty()) {
+            scene.removePostLayoutPulseListener(updater.pulseListener);
+            scene.getProperties().remove(KEY, updater);
+        }
+    }
+
+    private void update() {
+        // Views are only dropped here, never the listener itself, as
+        // the Scene is iterating over its listeners.
+        Iterator<CardImageView<?>> iterator = this.views.iterator();
+        while (iterator.hasNext()) {
+            CardImageView<?> view = iterator.next();
+            if (view.getScene() != this.scene) {
+                iterator.remove();
+            } else {
+                view.updateLevelOfDetail();
+            }
+        }
+    }
+}
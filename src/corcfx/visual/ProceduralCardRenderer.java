@@ -0,0 +1,351 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.visual;
+
+import corcfx.structure.FxWatchdog;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javafx.application.Platform;
+import javafx.geometry.VPos;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * Renders card faces and backs from the URLs of
+ * {@link CardUrlResolver#PROCEDURAL_CARD_RESOLVER}, so cards without
+ * image files can still be shown.
+ * <p>
+ * A front URL holds the description of its card. Descriptions of the
+ * form "rank of suit", such as "Queen of Hearts", are drawn with the
+ * rank in the corners and a pip of the suit in the centre, in red for
+ * hearts and diamonds; any other description is drawn as text in the
+ * centre of the card.
+ * <p>
+ * Images are drawn on a {@link Canvas} and snapshotted, which MUST
+ * happen on the FXThread; when called on any other Thread, the
+ * snapshot is posted to the FXThread and waited for, for at most
+ * {@value #RENDER_TIMEOUT_MILLIS} milliseconds. Rendered Images are
+ * cached by the {@link CardImageCache}, so each card and size is only
+ * drawn once.
+ */
+final class ProceduralCardRenderer {
+
+    static final int DEFAULT_WIDTH = 72;
+    static final int DEFAULT_HEIGHT = 96;
+    static final long RENDER_TIMEOUT_MILLIS = 5000;
+
+    private static final String FRONT = CardUrlResolver.PROCEDURAL_SCHEME + "front/";
+    private static final String BACK = CardUrlResolver.PROCEDURAL_SCHEME + "back";
+    private static final Color BORDER = Color.GRAY;
+    private static final Color BACK_COLOR = Color.web("#1f4f9a");
+
+    private ProceduralCardRenderer() {
+    }
+
+    static String frontUrl(String description) {
+        return FRONT + URLEncoder.encode(description, StandardCharsets.UTF_8);
+    }
+
+    static String backUrl() {
+        return BACK;
+    }
+
+    static boolean isProcedural(String url) {
+        return url.startsWith(CardUrlResolver.PROCEDURAL_SCHEME);
+    }
+
+    /**
+     * Renders the image of the specified procedural URL.
+     *
+     * @param url    the procedural String URL.
+     * @param width  the width of the image, or 0 to derive it from the
+     *               height.
+     * @param height the height of the image, or 0 to derive it from
+     *               the width.
+     * @return the rendered image.
+     * @throws IllegalArgumentException if the URL is not a procedural
+     *                                  URL.
+     * @throws IllegalStateException    if called off the FXThread and
+     *                                  the FXThread does not draw the
+     *                                  image in time.
+     */
+    static Image render(String url, int width, int height) {
+        if (width <= 0 && height <= 0) {
+            width = DEFAULT_WIDTH;
+            height = DEFAULT_HEIGHT;
+        } else if (width <= 0) {
+            width = Math.max(1, Math.round(height * (float) DEFAULT_WIDTH / DEFAULT_HEIGHT));
+        } else if (height <= 0) {
+            height = Math.max(1, Math.round(width * (float) DEFAULT_HEIGHT / DEFAULT_WIDTH));
+        }
+
+        Canvas canvas;
+        if (url.equals(BACK)) {
+            canvas = drawBack(width, height);
+        } else if (url.startsWith(FRONT)) {
+            canvas = drawFront(URLDecoder.decode(url.substring(FRONT.length()), StandardCharsets.UTF_8), width, height);
+        } else {
+            throw new IllegalArgumentException("Not a procedural card URL: " + url);
+        }
+        return snapshot(canvas, width, height);
+    }
+
+    private static Image snapshot(Canvas canvas, int width, int height) {
+        if (Platform.isFxApplicationThread()) {
+            SnapshotParameters parameters = new SnapshotParameters();
+            parameters.setFill(Color.TRANSPARENT);
+            return canvas.snapshot(parameters, new WritableImage(width, height));
+        }
+        FutureTask<Image> task = new FutureTask<>(() -> snapshot(canvas, width, height));
+        FxWatchdog.runLater(task);
+        try {
+            return task.get(RENDER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            task.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rendering a card.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to render a card.", e.getCause());
+        } catch (TimeoutException e) {
+            // Not drawn at all if the FXThread has not started it yet.
+            task.cancel(false);
+            throw new IllegalStateException("Timed out waiting for the FXThread to render a card.", e);
+        }
+    }
+
+    private static Canvas drawFront(String description, int width, int height) {
+        Canvas canvas = new Canvas(width, height);
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        drawOutline(g, width, height, Color.WHITE);
+
+        Suit suit = Suit.find(description);
+        String rank = suit == null ? null : rankOf(description);
+        if (rank == null) {
+            drawDescription(g, description, width, height);
+            return canvas;
+        }
+
+        Color color = suit.red ? Color.FIREBRICK : Color.BLACK;
+        double pad = width * 0.08;
+        double cornerSize = height * 0.16;
+        g.setFill(color);
+        g.setFont(Font.font(null, FontWeight.BOLD, cornerSize));
+        g.setTextAlign(TextAlignment.CENTER);
+        g.setTextBaseline(VPos.TOP);
+        for (int corner = 0; corner < 2; corner++) {
+            g.save();
+            if (corner == 1) {
+                g.translate(width, height);
+                g.rotate(180);
+            }
+            double x = pad + cornerSize * 0.4;
+            g.fillText(rank, x, pad, cornerSize * 1.2);
+            drawPip(g, suit, x, pad + cornerSize * 1.45, cornerSize * 0.7);
+            g.restore();
+        }
+        drawPip(g, suit, width / 2.0, height / 2.0, Math.min(width, height) * 0.45);
+        return canvas;
+    }
+
+    private static Canvas drawBack(int width, int height) {
+        Canvas canvas = new Canvas(width, height);
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        drawOutline(g, width, height, Color.WHITE);
+
+        double inset = width * 0.08;
+        double innerWidth = width - 2 * inset;
+        double innerHeight = height - 2 * inset;
+        g.setFill(BACK_COLOR);
+        g.fillRect(inset, inset, innerWidth, innerHeight);
+        g.save();
+        g.beginPath();
+        g.rect(inset, inset, innerWidth, innerHeight);
+        g.clip();
+        g.setStroke(Color.WHITE.deriveColor(0, 1, 1, 0.35));
+        g.setLineWidth(Math.max(1, width / 48.0));
+        double step = Math.max(4, width / 9.0);
+        for (double d = -innerHeight; d < innerWidth; d += step) {
+            g.strokeLine(inset + d, inset, inset + d + innerHeight, inset + innerHeight);
+            g.strokeLine(inset + d + innerHeight, inset, inset + d, inset + innerHeight);
+        }
+        g.restore();
+        return canvas;
+    }
+
+    private static void drawOutline(GraphicsContext g, int width, int height, Color fill) {
+        double arc = Math.min(width, height) * 0.16;
+        g.setFill(fill);
+        g.fillRoundRect(0.5, 0.5, width - 1, height - 1, arc, arc);
+        g.setStroke(BORDER);
+        g.setLineWidth(1);
+        g.strokeRoundRect(0.5, 0.5, width - 1, height - 1, arc, arc);
+    }
+
+    private static void drawDescription(GraphicsContext g, String description, int width, int height) {
+        String[] words = description.trim().split("\\s+");
+        double size = Math.min(height * 0.14, height * 0.8 / Math.max(1, words.length));
+        g.setFill(Color.BLACK);
+        g.setFont(Font.font(null, FontWeight.BOLD, size));
+        g.setTextAlign(TextAlignment.CENTER);
+        g.setTextBaseline(VPos.CENTER);
+        double top = height / 2.0 - size * (words.length - 1) / 2.0;
+        for (int i = 0; i < words.length; i++) {
+            g.fillText(words[i], width / 2.0, top + i * size, width * 0.84);
+        }
+    }
+
+    /**
+     * Draws a pip of the suit centred on the specified point, as a path
+     * so that it does not depend on the glyphs of any font.
+     */
+    private static void drawPip(GraphicsContext g, Suit suit, double x, double y, double size) {
+        double r = size / 2;
+        g.beginPath();
+        switch (suit) {
+            case DIAMONDS:
+                g.moveTo(x, y - r);
+                g.lineTo(x + r * 0.75, y);
+                g.lineTo(x, y + r);
+                g.lineTo(x - r * 0.75, y);
+                g.closePath();
+                break;
+            case HEARTS:
+                g.moveTo(x, y + r);
+                g.bezierCurveTo(x - r * 1.3, y - r * 0.1, x - r * 0.6, y - r * 1.1, x, y - r * 0.45);
+                g.bezierCurveTo(x + r * 0.6, y - r * 1.1, x + r * 1.3, y - r * 0.1, x, y + r);
+                g.closePath();
+                break;
+            case SPADES:
+                g.moveTo(x, y - r);
+                g.bezierCurveTo(x + r * 1.3, y + r * 0.05, x + r * 0.6, y + r * 0.85, x, y + r * 0.3);
+                g.bezierCurveTo(x - r * 0.6, y + r * 0.85, x - r * 1.3, y + r * 0.05, x, y - r);
+                g.closePath();
+                g.moveTo(x, y + r * 0.2);
+                g.lineTo(x + r * 0.3, y + r);
+                g.lineTo(x - r * 0.3, y + r);
+                g.closePath();
+                break;
+            default: // CLUBS
+                double leaf = r * 0.42;
+                g.fillOval(x - leaf, y - r, leaf * 2, leaf * 2);
+                g.fillOval(x - r, y - r * 0.2, leaf * 2, leaf * 2);
+                g.fillOval(x + r - leaf * 2, y - r * 0.2, leaf * 2, leaf * 2);
+                g.moveTo(x, y);
+                g.lineTo(x + r * 0.3, y + r);
+                g.lineTo(x - r * 0.3, y + r);
+                g.closePath();
+                break;
+        }
+        g.fill();
+    }
+
+    /**
+     * Gets the short rank of a "rank of suit" description, such as "Q"
+     * for "Queen of Hearts", or null if the description has no rank.
+     */
+    private static String rankOf(String description) {
+        int of = description.toLowerCase(Locale.ROOT).indexOf(" of ");
+        if (of <= 0) {
+            return null;
+        }
+        String rank = description.substring(0, of).trim();
+        switch (rank.toLowerCase(Locale.ROOT)) {
+            case "ace":
+                return "A";
+            case "king":
+                return "K";
+            case "queen":
+                return "Q";
+            case "jack":
+                return "J";
+            case "two":
+                return "2";
+            case "three":
+                return "3";
+            case "four":
+                return "4";
+            case "five":
+                return "5";
+            case "six":
+                return "6";
+            case "seven":
+                return "7";
+            case "eight":
+                return "8";
+            case "nine":
+                return "9";
+            case "ten":
+                return "10";
+            default:
+                return rank.length() <= 3 ? rank.toUpperCase(Locale.ROOT) : null;
+        }
+    }
+
+    private enum Suit {
+        CLUBS("club", false),
+        DIAMONDS("diamond", true),
+        HEARTS("heart", true),
+        SPADES("spade", false);
+
+        private final String name;
+        private final boolean red;
+
+        Suit(String name, boolean red) {
+            this.name = name;
+            this.red = red;
+        }
+
+        /**
+         * Finds the suit named after the last " of " of the
+         * description, in singular or plural.
+         */
+        private static Suit find(String description) {
+            String lower = description.toLowerCase(Locale.ROOT);
+            int of = lower.lastIndexOf(" of ");
+            if (of < 0) {
+                return null;
+            }
+            String suit = lower.substring(of + 4).trim();
+            if (suit.endsWith("s")) {
+                suit = suit.substring(0, suit.length() - 1);
+            }
+            for (Suit candidate : values()) {
+                if (candidate.name.equals(suit)) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -22,13 +22,31 @@ package corcfx.visual;
 
 import corc.structure.CardsetListener;
 import corc.structure.ICard;
+import corcfx.Point;
+import corcfx.jfr.ListenerDispatchEvent;
+import corcfx.structure.FxWatchdog;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
 import javafx.collections.ObservableList;
+import javafx.geometry.Point2D;
 import javafx.scene.Node;
+import javafx.scene.Scene;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.Pane;
+import javafx.stage.Window;
 
 /**
  * Displays multiple {@link CardImageView}s that are typically
@@ -39,56 +57,101 @@ import javafx.scene.layout.Pane;
  * handle adding and removing cards to and from this is provided,
  * such that the CardImageViews displayed will be a direct
  * representation of the associated Cardset.
+ * <p>
+ * While this is not showing, or while it is suspended with
+ * {@link VisualHand#setSuspended(boolean)}, the listener only records
+ * the cards and posts nothing to the FXThread. When this is shown
+ * again, the {@link CardImageView}s are brought up to date in a
+ * single pass.
  *
  * @param <C>
  */
 public class VisualHand<C extends ICard> extends BorderPane {
 
+    private static final AtomicInteger PENDING_OPERATIONS = new AtomicInteger();
+    private static final long APPLY_NOW = -1;
+
+    /**
+     * Gets the number of changes posted to the FXThread by every
+     * VisualHand which have not been applied yet.
+     *
+     * @return the number of pending changes.
+     */
+    public static int getPendingOperationCount() {
+        return PENDING_OPERATIONS.get();
+    }
+
     /**
      * A predefined {@link CardsetListener} to handle the addition
      * and removal of respective {@link CardImageView}s to this.
      * <p>
-     * The listener will call {@link Thread#wait()} on the calling
-     * {@link Thread} until the process of adding or removing cards
-     * has finished. The Thread calling the methods of the listener
-     * MUST NOT be the FXThread.
+     * The listener will call {@link Object#wait()} on the calling
+     * {@link Thread} until its own change has been made on the
+     * FXThread. Every call is given a ticket, in the order the changes
+     * are posted, so several Threads MAY share this listener. When
+     * called on the FXThread, the change is made immediately.
      * <p>
      * This listener SHOULD only be given to a single Cardset. So that
      * this VisualHand displays a direct representation of the
      * associated Cardset.
+     * <p>
+     * While this is suspended, the listener returns without waiting.
+     * <p>
+     * Added cards advance the {@link CardImagePrefetcher}, if one is
+     * set, before the change is posted.
      */
     private final CardsetListener<C> cardsetListener = new CardsetListener<>() {
         @Override
         public void cardsAdded(List<? extends C> cards) {
-            addingCards = true;
-            Platform.runLater(() -> {
-                addCards(cards);
-                addingCards = false;
-                startNotifyAll();
-            });
-
-            startWaitForAddingFinished();
+            CardImagePrefetcher<C> prefetcher = VisualHand.this.prefetcher;
+            if (prefetcher != null) {
+                prefetcher.cardsDealt(cards);
+            }
+            long ticket;
+            synchronized (cardList) {
+                cardList.addAll(cards);
+                ticket = post(++cardListVersion, "added", cards.size(), () -> addCards(cards));
+            }
+            finishChange(ticket, false, "added", cards.size());
         }
 
         @Override
         public void cardsRemoved(List<? extends C> cards) {
-            removingCards = true;
-            Platform.runLater(() -> {
-                removeCards(cards);
-                removingCards = false;
-                startNotifyAll();
-            });
-
-            startWaitForRemovingFinished();
+            long ticket;
+            synchronized (cardList) {
+                for (C card : cards) {
+                    cardList.remove(card);
+                }
+                ticket = post(++cardListVersion, "removed", cards.size(), () -> removeCards(cards));
+            }
+            finishChange(ticket, false, "removed", cards.size());
         }
     };
 
-    private final HashMap<C, CardImageView<C>> hashMap = new HashMap<>();
+    private final HashMap<C, ArrayDeque<CardImageView<C>>> hashMap = new HashMap<>();
+    private final List<C> cardList = new ArrayList<>();
+    private final Map<C, Boolean> pendingFlips = new LinkedHashMap<>(); // Guarded by cardList.
+    private final Pane handPane;
     private final ObservableList<Node> handPaneChildren;
     private final CardUrlResolver<C> urlResolver;
+    private LayoutAnimator layoutAnimator;
+    private Point dealOrigin;
+    private CardTransferPool<C> transferPool;
+    private Point transferOrigin;
+    private volatile CardImagePrefetcher<C> prefetcher;
 
-    private volatile boolean addingCards;
-    private volatile boolean removingCards;
+    private final List<Observable> observedForShowing = new ArrayList<>();
+    private final InvalidationListener showingListener = observable -> this.updateShowing();
+    private long cardListVersion; // Guarded by cardList.
+    private long postedTickets; // Guarded by cardList.
+    private final Object ticketLock = new Object();
+    private long completedTickets; // Guarded by ticketLock.
+    private long reconciledVersion; // Only used on the FXThread.
+    private boolean catchingUp;
+    private volatile boolean reorderOnResume;
+    private boolean autoSuspend = true;
+    private boolean suspendedByUser;
+    private volatile boolean suspended;
 
     /**
      * Constructs a {@link BorderPane} capable of handling the visual
@@ -104,8 +167,10 @@ public class VisualHand<C extends ICard> extends BorderPane {
      */
     public VisualHand(Pane handPane, CardUrlResolver<C> urlResolver) {
         this.setCenter(handPane);
+        this.handPane = handPane;
         this.handPaneChildren = handPane.getChildren();
         this.urlResolver = urlResolver;
+        this.updateShowing();
     }
 
     /**
@@ -119,6 +184,10 @@ public class VisualHand<C extends ICard> extends BorderPane {
      * cards as well as passes the created CardImageViews to the
      * {@link VisualHand#addCardImageView(CardImageView)} method.
      * <p>
+     * If a {@link CardTransferPool} is set, views parked by another
+     * hand are adopted instead of being created. Adopted views are
+     * moved in from where they were last shown.
+     * <p>
      * If this method is overridden, the implementor MUST still
      * handle the process described above.
      *
@@ -127,8 +196,19 @@ public class VisualHand<C extends ICard> extends BorderPane {
      */
     protected void addCards(List<? extends C> cards) {
         for (C card : cards) {
-            CardImageView<C> civ = new CardImageView<>(card, urlResolver);
-            addCardImageView(civ);
+            CardTransferPool.Parked<C> parked = this.transferPool == null
+                    ? null
+                    : this.transferPool.adopt(card, this.urlResolver);
+            if (parked == null) {
+                addCardImageView(new CardImageView<>(card, urlResolver));
+            } else {
+                this.transferOrigin = this.sceneToHandPane(parked.SCENE_POSITION);
+                try {
+                    addCardImageView(parked.CIV);
+                } finally {
+                    this.transferOrigin = null;
+                }
+            }
         }
     }
 
@@ -138,7 +218,8 @@ public class VisualHand<C extends ICard> extends BorderPane {
      * By default, this method only calls
      * {@link VisualHand#addCardImageViewToHashMap(CardImageView)}
      * and {@link VisualHand#addCardImageViewToHandPane(CardImageView)}
-     * in that order.
+     * in that order, then moves the CardImageView in from the deal
+     * origin if one is set.
      * <p>
      * This method MAY be overridden to support additional logic such
      * as animations. If this method is overridden, the new method
@@ -150,10 +231,38 @@ public class VisualHand<C extends ICard> extends BorderPane {
     protected void addCardImageView(CardImageView<C> civ) {
         this.addCardImageViewToHashMap(civ);
         this.addCardImageViewToHandPane(civ);
+        this.moveFromDealOrigin(civ);
+    }
+
+    /**
+     * Moves the {@link CardImageView} from the deal origin to the
+     * position it was given by the hand {@link Pane}, using the
+     * {@link LayoutAnimator}. A CardImageView adopted from a
+     * {@link CardTransferPool} is moved from where it was last shown
+     * instead.
+     * <p>
+     * Does nothing unless both a LayoutAnimator and an origin are
+     * set.
+     *
+     * @param civ the CardImageView that was added to the hand Pane.
+     */
+    protected final void moveFromDealOrigin(CardImageView<C> civ) {
+        if (this.catchingUp) {
+            return; // Catching up is not dealing.
+        }
+        Point origin = this.transferOrigin != null ? this.transferOrigin : this.dealOrigin;
+        if (this.layoutAnimator == null || origin == null) {
+            return;
+        }
+        double targetX = this.layoutAnimator.getTargetX(civ);
+        double targetY = this.layoutAnimator.getTargetY(civ);
+        civ.setLayoutX(origin.X);
+        civ.setLayoutY(origin.Y);
+        this.layoutAnimator.animateTo(civ, targetX, targetY);
     }
 
     protected final void addCardImageViewToHashMap(CardImageView<C> civ) {
-        this.hashMap.put(civ.getCard(), civ);
+        this.hashMap.computeIfAbsent(civ.getCard(), card -> new ArrayDeque<>(1)).addLast(civ);
     }
 
     protected final void addCardImageViewToHandPane(CardImageView<C> civ) {
@@ -172,6 +281,9 @@ public class VisualHand<C extends ICard> extends BorderPane {
      * specified list of cards and passes the CardImageViews to the
      * {@link VisualHand#removeCardImageView(CardImageView)} method.
      * <p>
+     * If a {@link CardTransferPool} is set, the removed views are
+     * parked in it for another hand to adopt.
+     * <p>
      * If this method is overridden, the implementor MUST still
      * handle the process described above.
      *
@@ -180,7 +292,17 @@ public class VisualHand<C extends ICard> extends BorderPane {
      */
     protected void removeCards(List<? extends C> cards) {
         for (C card : cards) {
-            this.removeCardImageView(this.hashMap.get(card));
+            CardImageView<C> civ = this.getCardImageViewFromHashMap(card);
+            if (this.transferPool == null || civ == null) {
+                this.removeCardImageView(civ);
+                continue;
+            }
+            Point scenePosition = this.handPaneToScene(civ);
+            this.removeCardImageView(civ);
+            if (this.layoutAnimator != null) {
+                this.layoutAnimator.stop(civ);
+            }
+            this.transferPool.park(civ, scenePosition);
         }
     }
 
@@ -205,30 +327,340 @@ public class VisualHand<C extends ICard> extends BorderPane {
     }
 
     protected final CardImageView<C> removeCardImageViewFromHashMap(CardImageView<C> civ) {
-        return this.hashMap.remove(civ.getCard());
+        ArrayDeque<CardImageView<C>> views = this.hashMap.get(civ.getCard());
+        if (views == null || !views.removeFirstOccurrence(civ)) {
+            return null;
+        }
+        if (views.isEmpty()) {
+            this.hashMap.remove(civ.getCard());
+        }
+        return civ;
     }
 
     protected final void removeCardImageViewFromHandPane(CardImageView<C> civ) {
         this.handPaneChildren.remove(civ);
     }
 
+    /**
+     * Gets a {@link CardImageView} of the card. When this holds the
+     * same card more than once, the view added first is returned.
+     *
+     * @param card the card.
+     * @return a view of the card, or null if it is not in this.
+     */
     protected CardImageView<C> getCardImageViewFromHashMap(C card) {
-        return this.hashMap.get(card);
+        ArrayDeque<CardImageView<C>> views = this.hashMap.get(card);
+        return views == null ? null : views.peekFirst();
+    }
+
+    /**
+     * Replaces the cards of this with the specified cards, such as
+     * when a model publishes the whole hand at once.
+     * <p>
+     * Only the difference with the current {@link CardImageView}s is
+     * applied: the cards that are no longer held are removed, the new
+     * cards are added, and the views are put in the order of the
+     * specified list, all in a single layout pass. The same card MAY
+     * appear more than once.
+     * <p>
+     * Like the built-in {@link CardsetListener}, this waits until the
+     * change has been made on the FXThread, unless this is suspended.
+     * When called on the FXThread, the change is made immediately.
+     * MAY be called by several Threads.
+     *
+     * @param cards the cards this now holds, in order.
+     */
+    public void setCards(List<? extends C> cards) {
+        long ticket;
+        synchronized (this.cardList) {
+            this.cardList.clear();
+            this.cardList.addAll(cards);
+            if (this.suspended) {
+                this.reorderOnResume = true;
+            }
+            ticket = this.post(++this.cardListVersion, "set", cards.size(), () -> this.reconcile(true));
+        }
+        this.finishChange(ticket, true, "set", cards.size());
+    }
+
+    /**
+     * Shows the front or back image of every card in this.
+     *
+     * @param isFaceUp true for the front images, false for the back
+     *                 images.
+     * @see VisualHand#setFaceUp(Collection, boolean)
+     */
+    public void setFaceUp(boolean isFaceUp) {
+        this.setFaceUp(this.getCards(), isFaceUp);
+    }
+
+    /**
+     * Shows the front or back image of the specified cards, flipping
+     * every {@link CardImageView} of those cards in a single task on
+     * the FXThread, so they all flip in the same frame.
+     * <p>
+     * When called off the FXThread, the images to show are loaded
+     * into the {@link CardImageCache} on the calling Thread first.
+     * This does not wait for the flip. Cards which are not in this are
+     * ignored. While this is suspended, the flip is made when this is
+     * resumed.
+     *
+     * @param cards    the cards to flip.
+     * @param isFaceUp true for the front images, false for the back
+     *                 images.
+     */
+    public void setFaceUp(Collection<? extends C> cards, boolean isFaceUp) {
+        boolean onFxThread = Platform.isFxApplicationThread();
+        if (!onFxThread) {
+            for (C card : cards) {
+                try {
+                    CardImageCache.getImage(isFaceUp
+                            ? this.urlResolver.getCardFrontURL(card)
+                            : this.urlResolver.getCardBackURL(card));
+                } catch (IllegalArgumentException e) {
+                    // Reported by the CardImageView when it is shown.
+                }
+            }
+        }
+
+        synchronized (this.cardList) {
+            for (C card : cards) {
+                this.pendingFlips.put(card, isFaceUp);
+            }
+        }
+        if (this.suspended) {
+            return;
+        }
+        if (onFxThread) {
+            this.applyPendingFlips();
+            return;
+        }
+
+        PENDING_OPERATIONS.incrementAndGet();
+        FxWatchdog.runLater(() -> {
+            try {
+                if (!suspended) {
+                    applyPendingFlips();
+                }
+            } finally {
+                PENDING_OPERATIONS.decrementAndGet();
+            }
+        });
+    }
+
+    private void applyPendingFlips() {
+        Map<C, Boolean> flips;
+        synchronized (this.cardList) {
+            if (this.pendingFlips.isEmpty()) {
+                return; // Already applied by an earlier task.
+            }
+            flips = new LinkedHashMap<>(this.pendingFlips);
+            this.pendingFlips.clear();
+        }
+        for (Map.Entry<C, Boolean> flip : flips.entrySet()) {
+            ArrayDeque<CardImageView<C>> views = this.hashMap.get(flip.getKey());
+            if (views != null) {
+                for (CardImageView<C> civ : views) {
+                    civ.setFaceUp(flip.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs the specified changes to the {@link CardImageView}s of
+     * this so that the hand {@link Pane} is laid out once, after all
+     * of them.
+     * <p>
+     * By default, this method only runs the changes, leaving the
+     * layout to the next pulse. It can be overridden as an API hook
+     * by hands whose Pane lays out its children on every change.
+     *
+     * @param changes the changes to make.
+     */
+    protected void applyInOneLayoutPass(Runnable changes) {
+        changes.run();
+    }
+
+    /**
+     * Puts the {@link CardImageView}s of this in the specified order.
+     * <p>
+     * By default, the CardImageViews are rearranged among the
+     * children of the hand {@link Pane}, keeping the positions of any
+     * other children. The children are only replaced if the order
+     * changed. It can be overridden as an API hook by hands whose
+     * Pane orders its children itself.
+     *
+     * @param order every CardImageView of this, in order.
+     */
+    protected void reorderCardImageViews(List<CardImageView<C>> order) {
+        Set<Node> ordered = Collections.newSetFromMap(new IdentityHashMap<>());
+        ordered.addAll(order);
+
+        List<Node> children = new ArrayList<>(this.handPaneChildren);
+        boolean changed = false;
+        int next = 0;
+        for (int i = 0; i < children.size() && next < order.size(); i++) {
+            if (ordered.contains(children.get(i))) {
+                CardImageView<C> civ = order.get(next++);
+                changed |= children.get(i) != civ;
+                children.set(i, civ);
+            }
+        }
+        if (changed) {
+            this.handPaneChildren.setAll(children);
+        }
+    }
+
+    /**
+     * Returns the cards passed to this through the built-in
+     * {@link CardsetListener}, in the order they were added.
+     * <p>
+     * The list is updated by the Thread calling the listener before
+     * the visual changes are made, so it MAY be read on any Thread
+     * without waiting for the FXThread.
+     *
+     * @return a copy of the cards in this.
+     */
+    public List<C> getCards() {
+        synchronized (this.cardList) {
+            return new ArrayList<>(this.cardList);
+        }
+    }
+
+    /**
+     * Sets the {@link LayoutAnimator} used to move added
+     * {@link CardImageView}s in from the deal origin.
+     * <p>
+     * MUST be called on the FXThread.
+     *
+     * @param layoutAnimator the LayoutAnimator to use, or null to
+     *                       place cards instantly.
+     */
+    public void setLayoutAnimator(LayoutAnimator layoutAnimator) {
+        this.layoutAnimator = layoutAnimator;
+    }
+
+    public LayoutAnimator getLayoutAnimator() {
+        return this.layoutAnimator;
+    }
+
+    /**
+     * Sets the point, in the hand {@link Pane}'s coordinates, that
+     * added {@link CardImageView}s are moved in from when a
+     * {@link LayoutAnimator} is set.
+     *
+     * @param dealOrigin the point cards are dealt from, or null to
+     *                   place cards instantly.
+     */
+    public void setDealOrigin(Point dealOrigin) {
+        this.dealOrigin = dealOrigin;
+    }
+
+    public Point getDealOrigin() {
+        return this.dealOrigin;
+    }
+
+    /**
+     * Sets the {@link CardTransferPool} used to hand over
+     * {@link CardImageView}s to and from other VisualHands.
+     * <p>
+     * Hands which cards move between, such as a hand, a trick and a
+     * discard pile, SHOULD share a single pool. MUST be called on the
+     * FXThread.
+     *
+     * @param transferPool the pool to use, or null to always create
+     *                     new CardImageViews.
+     */
+    public void setTransferPool(CardTransferPool<C> transferPool) {
+        this.transferPool = transferPool;
+    }
+
+    public CardTransferPool<C> getTransferPool() {
+        return this.transferPool;
+    }
+
+    /**
+     * Sets the {@link CardImagePrefetcher} which is told of every card
+     * added through the built-in {@link CardsetListener}, so that the
+     * faces of the cards dealt after them are decoded ahead of time.
+     * <p>
+     * Hands which the same deck is dealt to SHOULD share a single
+     * prefetcher. MAY be called on any Thread.
+     *
+     * @param prefetcher the prefetcher to advance, or null to not
+     *                   prefetch.
+     */
+    public void setPrefetcher(CardImagePrefetcher<C> prefetcher) {
+        this.prefetcher = prefetcher;
+    }
+
+    public CardImagePrefetcher<C> getPrefetcher() {
+        return this.prefetcher;
+    }
+
+    /**
+     * Suspends or resumes the visual updates of this.
+     * <p>
+     * While suspended, cards passed through the built-in
+     * {@link CardsetListener} are only recorded. When resumed, the
+     * {@link CardImageView}s are reconciled with the recorded cards at
+     * once, adding and removing only the views that changed.
+     * <p>
+     * This is also suspended while it is not showing, unless
+     * {@link VisualHand#setAutoSuspend(boolean)} is turned off.
+     * MUST be called on the FXThread.
+     *
+     * @param suspended true to suspend, false to resume.
+     */
+    public void setSuspended(boolean suspended) {
+        this.suspendedByUser = suspended;
+        this.updateShowing();
+    }
+
+    /**
+     * Returns whether visual updates are currently suspended, either
+     * explicitly or because this is not showing.
+     *
+     * @return true if this is suspended.
+     */
+    public boolean isSuspended() {
+        return this.suspended;
+    }
+
+    /**
+     * Sets whether this is suspended automatically while it is not
+     * showing. This is the case when it is not in a showing
+     * {@link Window}, or when it or any of its parents is not visible,
+     * such as the content of an unselected tab.
+     * <p>
+     * By default, this is true. MUST be called on the FXThread.
+     *
+     * @param autoSuspend true to suspend while not showing.
+     */
+    public void setAutoSuspend(boolean autoSuspend) {
+        this.autoSuspend = autoSuspend;
+        this.updateShowing();
+    }
+
+    public boolean isAutoSuspend() {
+        return this.autoSuspend;
     }
 
     /**
      * Returns the predefined {@link CardsetListener} linked to this.
      * <p>
-     * The listener will call {@link Thread#wait()} on the calling
-     * {@link Thread} until the process of adding or removing cards
-     * has finished. The Thread calling the methods of the listener
-     * MUST NOT be the FXThread.
+     * Each change is given a ticket, in the order the changes are
+     * recorded, and the calling {@link Thread} waits until its own
+     * ticket has been applied on the FXThread. Several Threads MAY
+     * share the listener. When called on the FXThread, the change is
+     * made immediately, and while this is suspended the listener
+     * returns without waiting.
      * <p>
-     * If the Thread processing the adding or removing of cards is
-     * interrupted, an exception's stack trace will be printed to the
-     * standard error stream at the point of failure. This will not
-     * stop the program, but the result of changes to this VisualHand
-     * is undefined behavior.
+     * If the waiting Thread is interrupted, an exception's stack trace
+     * will be printed to the standard error stream and the Thread
+     * keeps waiting for its change; its interrupt status is restored
+     * once the change has been made.
      * <p>
      * This listener SHOULD only be given to a single Cardset. So that
      * this VisualHand displays a direct representation of the
@@ -240,31 +672,236 @@ public class VisualHand<C extends ICard> extends BorderPane {
         return this.cardsetListener;
     }
 
-    private synchronized void startWaitForAddingFinished() {
-        while (addingCards) {
+    private boolean isCurrent(long version) {
+        return !this.suspended && version > this.reconciledVersion;
+    }
+
+    /**
+     * Recomputes whether this is showing, listening to every property
+     * the answer depends on.
+     */
+    private void updateShowing() {
+        for (Observable observable : this.observedForShowing) {
+            observable.removeListener(this.showingListener);
+        }
+        this.observedForShowing.clear();
+
+        boolean showing = true;
+        if (this.autoSuspend) {
+            Node node = this;
+            while (node != null) {
+                this.observe(node.visibleProperty());
+                this.observe(node.parentProperty());
+                showing &= node.isVisible();
+                node = node.getParent();
+            }
+            this.observe(this.sceneProperty());
+            Scene scene = this.getScene();
+            Window window = null;
+            if (scene != null) {
+                this.observe(scene.windowProperty());
+                window = scene.getWindow();
+            }
+            if (window != null) {
+                this.observe(window.showingProperty());
+            }
+            showing &= window != null && window.isShowing();
+        }
+
+        boolean wasSuspended = this.suspended;
+        this.suspended = this.suspendedByUser || !showing;
+        if (wasSuspended && !this.suspended) {
+            this.catchingUp = true;
             try {
-                wait();
-            } catch (InterruptedException e) {
-                System.err.println(Thread.currentThread().getName() + " was Interrupted while" +
-                        "waiting for Cards to be added.");
-                e.printStackTrace();
+                boolean reorder = this.reorderOnResume;
+                this.reorderOnResume = false;
+                this.reconcile(reorder);
+                this.applyPendingFlips();
+            } finally {
+                this.catchingUp = false;
             }
         }
     }
 
-    private synchronized void startWaitForRemovingFinished() {
-        while (removingCards) {
+    private void observe(Observable observable) {
+        observable.addListener(this.showingListener);
+        this.observedForShowing.add(observable);
+    }
+
+    /**
+     * Adds and removes {@link CardImageView}s so that this shows the
+     * recorded cards, counting every copy of a card. Changes posted
+     * before this are skipped.
+     *
+     * @param reorder true to also put the views in the recorded order.
+     */
+    private void reconcile(boolean reorder) {
+        List<C> cards;
+        synchronized (this.cardList) {
+            cards = new ArrayList<>(this.cardList);
+            this.reconciledVersion = this.cardListVersion;
+        }
+
+        Map<C, Integer> wanted = new HashMap<>();
+        for (C card : cards) {
+            wanted.merge(card, 1, Integer::sum);
+        }
+        List<C> toRemove = new ArrayList<>();
+        for (Map.Entry<C, ArrayDeque<CardImageView<C>>> entry : this.hashMap.entrySet()) {
+            int extra = entry.getValue().size() - wanted.getOrDefault(entry.getKey(), 0);
+            for (int i = 0; i < extra; i++) {
+                toRemove.add(entry.getKey());
+            }
+        }
+        Map<C, Integer> held = new HashMap<>();
+        List<C> toAdd = new ArrayList<>();
+        for (C card : cards) {
+            ArrayDeque<CardImageView<C>> views = this.hashMap.get(card);
+            int have = views == null ? 0 : views.size();
+            if (held.merge(card, 1, Integer::sum) > have) {
+                toAdd.add(card);
+            }
+        }
+        if (toRemove.isEmpty() && toAdd.isEmpty() && !reorder) {
+            return;
+        }
+
+        this.applyInOneLayoutPass(() -> {
+            if (!toRemove.isEmpty()) {
+                this.removeCards(toRemove);
+            }
+            if (!toAdd.isEmpty()) {
+                this.addCards(toAdd);
+            }
+            if (reorder) {
+                Map<C, Iterator<CardImageView<C>>> views = new HashMap<>();
+                List<CardImageView<C>> order = new ArrayList<>(cards.size());
+                for (C card : cards) {
+                    Iterator<CardImageView<C>> iterator = views.computeIfAbsent(card,
+                            key -> this.hashMap.getOrDefault(key, new ArrayDeque<>()).iterator());
+                    if (iterator.hasNext()) {
+                        order.add(iterator.next());
+                    }
+                }
+                this.reorderCardImageViews(order);
+            }
+        });
+    }
+
+    private Point handPaneToScene(CardImageView<C> civ) {
+        if (civ.getParent() != this.handPane || this.handPane.getScene() == null) {
+            return null;
+        }
+        Point2D point = this.handPane.localToScene(civ.getLayoutX(), civ.getLayoutY());
+        return new Point(point.getX(), point.getY());
+    }
+
+    private Point sceneToHandPane(Point scenePosition) {
+        if (scenePosition == null || this.handPane.getScene() == null) {
+            return null;
+        }
+        Point2D point = this.handPane.sceneToLocal(scenePosition.X, scenePosition.Y);
+        return new Point(point.getX(), point.getY());
+    }
+
+    /**
+     * Posts a change to the FXThread, to be skipped if the change is
+     * older than the last reconciliation. The caller MUST hold the
+     * lock of the card list, so that tickets are posted in order.
+     * <p>
+     * When this is suspended nothing is posted and the returned
+     * ticket is already completed. On the FXThread nothing is posted
+     * either, and {@link VisualHand#APPLY_NOW} is returned.
+     * <p>
+     * Each posted change is recorded as a {@link ListenerDispatchEvent}
+     * when Java Flight Recorder is recording.
+     *
+     * @param version   the version of the card list after the change.
+     * @param action    "added", "removed" or "set".
+     * @param cardCount the number of cards in the change.
+     * @param change    the change to make.
+     * @return the ticket to wait for.
+     */
+    private long post(long version, String action, int cardCount, Runnable change) {
+        if (this.suspended) {
+            return 0;
+        }
+        if (Platform.isFxApplicationThread()) {
+            return APPLY_NOW;
+        }
+        long ticket = ++this.postedTickets;
+        long postedAt = System.nanoTime();
+        PENDING_OPERATIONS.incrementAndGet();
+        FxWatchdog.runLater(() -> {
+            long queueWait = System.nanoTime() - postedAt;
+            ListenerDispatchEvent event = new ListenerDispatchEvent();
+            event.begin();
+            boolean current = isCurrent(version);
             try {
-                wait();
-            } catch (InterruptedException e) {
-                System.err.println(Thread.currentThread().getName() + " was Interrupted while" +
-                        "waiting for Cards to be removed.");
-                e.printStackTrace();
+                if (current) {
+                    change.run();
+                }
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.setChange(getClass(), action, cardCount, queueWait, !current);
+                    event.commit();
+                }
+                PENDING_OPERATIONS.decrementAndGet();
+                synchronized (ticketLock) {
+                    completedTickets = Math.max(completedTickets, ticket);
+                    ticketLock.notifyAll();
+                }
+            }
+        });
+        return ticket;
+    }
+
+    /**
+     * Waits for the ticket returned by
+     * {@link VisualHand#post(long, String, int, Runnable)}, or reconciles the views
+     * immediately when called on the FXThread, outside of the lock of
+     * the card list. Reconciling also skips any change that was posted
+     * earlier and has not run yet, so changes are never applied out of
+     * order.
+     */
+    private void finishChange(long ticket, boolean reorder, String action, int cardCount) {
+        if (ticket == APPLY_NOW) {
+            ListenerDispatchEvent event = new ListenerDispatchEvent();
+            event.begin();
+            this.reconcile(reorder);
+            event.end();
+            if (event.shouldCommit()) {
+                event.setChange(this.getClass(), action, cardCount, 0, false);
+                event.commit();
             }
+        } else {
+            this.waitForTicket(ticket, action);
         }
     }
 
-    private synchronized void startNotifyAll() {
-        notifyAll();
+    /**
+     * Waits until the change with the specified ticket has been made.
+     * If the waiting Thread is interrupted, the stack trace is printed
+     * and the Thread keeps waiting; its interrupt status is restored
+     * once the change has been made.
+     */
+    private void waitForTicket(long ticket, String action) {
+        boolean interrupted = false;
+        synchronized (this.ticketLock) {
+            while (this.completedTickets < ticket) {
+                try {
+                    this.ticketLock.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    System.err.println(Thread.currentThread().getName() + " was Interrupted while " +
+                            "waiting for Cards to be " + action + ".");
+                    e.printStackTrace();
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
     }
 }
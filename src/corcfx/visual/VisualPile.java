@@ -0,0 +1,396 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.visual;
+
+import corc.structure.CardsetListener;
+import corc.structure.ICard;
+import corcfx.structure.FxWatchdog;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javafx.application.Platform;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+
+/**
+ * Displays a pile of cards, such as a draw pile or a discard pile,
+ * that are typically associated with cards passed through an
+ * {@link corc.structure.ListenableCardset}.
+ * <p>
+ * Only the top cards of the pile are shown, as {@link ImageView}s. The
+ * cards beneath them are drawn as a single edge whose depth grows with
+ * the size of the pile, and the number of cards is shown on a badge.
+ * The number of Nodes of this is fixed when it is constructed, so a
+ * pile of hundreds of cards costs no more to display than a pile of
+ * one.
+ * <p>
+ * A {@link CardsetListener} linked to this is provided. Cards added
+ * through it are pushed onto the top of the pile, and removing the top
+ * card is a constant time operation. The listener MAY be called on any
+ * Thread and never waits for the FXThread: changes are recorded
+ * immediately, and the display is brought up to date by a single task
+ * on the FXThread, however many changes were made before it runs.
+ *
+ * @param <C> the class of the cards.
+ */
+public class VisualPile<C extends ICard> extends Pane {
+
+    public static final int DEFAULT_SHOWN_CARDS = 1;
+    public static final double DEFAULT_DEPTH_PER_CARD = 0.25;
+    public static final double DEFAULT_MAX_DEPTH = 12;
+    public static final String DEFAULT_BADGE_STYLE =
+            "-fx-background-color: rgba(0, 0, 0, 0.7); " +
+                    "-fx-background-radius: 8px; " +
+                    "-fx-text-fill: WHITE; " +
+                    "-fx-padding: 1px 6px; " +
+                    "-fx-font-size: 11px";
+    public static final String EDGE_STYLE_CLASS = "corcfx-pile-edge";
+    public static final String BADGE_STYLE_CLASS = "corcfx-pile-badge";
+
+    private final CardsetListener<C> cardsetListener = new CardsetListener<>() {
+        @Override
+        public void cardsAdded(List<? extends C> cards) {
+            synchronized (pile) {
+                pile.addAll(cards);
+            }
+            requestUpdate();
+        }
+
+        @Override
+        public void cardsRemoved(List<? extends C> cards) {
+            synchronized (pile) {
+                for (C card : cards) {
+                    if (card.equals(pile.peekLast())) {
+                        pile.pollLast();
+                    } else {
+                        pile.removeLastOccurrence(card);
+                    }
+                }
+            }
+            requestUpdate();
+        }
+    };
+
+    private final ArrayDeque<C> pile = new ArrayDeque<>(); // Top card last.
+    private final AtomicBoolean updatePending = new AtomicBoolean();
+    private final CardUrlResolver<C> urlResolver;
+    private final ImageView[] shown;
+    private final Rectangle edge = new Rectangle();
+    private final Label badge = new Label();
+    private final List<C> topCards;
+
+    private volatile boolean faceUp;
+    private boolean badgeVisible = true;
+    private int shownSize = -1;
+    private double spreadX;
+    private double spreadY;
+    private double depthPerCard = DEFAULT_DEPTH_PER_CARD;
+    private double maxDepth = DEFAULT_MAX_DEPTH;
+    private double cardWidth = ProceduralCardRenderer.DEFAULT_WIDTH;
+    private double cardHeight = ProceduralCardRenderer.DEFAULT_HEIGHT;
+
+    /**
+     * Constructs a face-down pile which shows only its top card.
+     *
+     * @param urlResolver the CardUrlResolver to be used to obtain
+     *                    String URLs for the front and back images of
+     *                    cards added to this.
+     */
+    public VisualPile(CardUrlResolver<C> urlResolver) {
+        this(urlResolver, DEFAULT_SHOWN_CARDS, false);
+    }
+
+    /**
+     * Constructs a pile which shows the specified number of cards from
+     * its top.
+     * <p>
+     * The shown cards are stacked exactly on top of each other until a
+     * spread is set with {@link VisualPile#setSpread(double, double)}.
+     *
+     * @param urlResolver the CardUrlResolver to be used to obtain
+     *                    String URLs for the front and back images of
+     *                    cards added to this.
+     * @param shownCards  the number of cards to show from the top of
+     *                    the pile; at least 1.
+     * @param faceUp      true to show the fronts of the cards, false
+     *                    for the backs.
+     */
+    public VisualPile(CardUrlResolver<C> urlResolver, int shownCards, boolean faceUp) {
+        if (shownCards < 1) {
+            throw new IllegalArgumentException("shownCards must be at least 1: " + shownCards);
+        }
+        this.urlResolver = urlResolver;
+        this.faceUp = faceUp;
+        this.shown = new ImageView[shownCards];
+        this.topCards = new ArrayList<>(shownCards);
+
+        this.edge.getStyleClass().add(EDGE_STYLE_CLASS);
+        this.edge.setArcWidth(8);
+        this.edge.setArcHeight(8);
+        this.edge.setStrokeWidth(1);
+        this.badge.getStyleClass().add(BADGE_STYLE_CLASS);
+        this.badge.setStyle(DEFAULT_BADGE_STYLE);
+        this.badge.setMouseTransparent(true);
+
+        this.getChildren().add(this.edge);
+        // Added bottom first, so the top card is drawn last.
+        for (int i = shownCards - 1; i >= 0; i--) {
+            this.shown[i] = new ImageView();
+            this.getChildren().add(this.shown[i]);
+        }
+        this.getChildren().add(this.badge);
+        this.update();
+    }
+
+    /**
+     * Returns the predefined {@link CardsetListener} linked to this.
+     * <p>
+     * The listener MAY be called on any Thread, and returns without
+     * waiting for the display to be updated.
+     * <p>
+     * This listener SHOULD only be given to a single Cardset. So that
+     * this VisualPile displays a direct representation of the
+     * associated Cardset.
+     *
+     * @return the listener linked with this.
+     */
+    public CardsetListener<C> getCardsetListener() {
+        return this.cardsetListener;
+    }
+
+    /**
+     * Replaces every card of this, bottom card first.
+     * <p>
+     * MAY be called on any Thread.
+     *
+     * @param cards the cards this now holds, bottom card first.
+     */
+    public void setCards(List<? extends C> cards) {
+        synchronized (this.pile) {
+            this.pile.clear();
+            this.pile.addAll(cards);
+        }
+        this.requestUpdate();
+    }
+
+    /**
+     * Returns the cards of this, bottom card first.
+     * <p>
+     * The cards are recorded before the display is updated, so this
+     * MAY be read on any Thread without waiting for the FXThread.
+     *
+     * @return a copy of the cards of this.
+     */
+    public List<C> getCards() {
+        synchronized (this.pile) {
+            return new ArrayList<>(this.pile);
+        }
+    }
+
+    /**
+     * Gets the card on the top of this.
+     *
+     * @return the top card, or null if this is empty.
+     */
+    public C getTopCard() {
+        synchronized (this.pile) {
+            return this.pile.peekLast();
+        }
+    }
+
+    /**
+     * Gets the number of cards in this.
+     *
+     * @return the number of cards.
+     */
+    public int size() {
+        synchronized (this.pile) {
+            return this.pile.size();
+        }
+    }
+
+    /**
+     * Sets whether the fronts or the backs of the cards are shown.
+     * <p>
+     * MAY be called on any Thread.
+     *
+     * @param faceUp true for the fronts, false for the backs.
+     */
+    public void setFaceUp(boolean faceUp) {
+        if (this.faceUp != faceUp) {
+            this.faceUp = faceUp;
+            this.requestUpdate();
+        }
+    }
+
+    public boolean isFaceUp() {
+        return this.faceUp;
+    }
+
+    /**
+     * Sets the offset between each of the shown cards, from the top
+     * card downwards, such as to fan the top cards of a discard pile.
+     * <p>
+     * MUST be called on the FXThread.
+     *
+     * @param spreadX the horizontal offset, in pixels.
+     * @param spreadY the vertical offset, in pixels.
+     */
+    public void setSpread(double spreadX, double spreadY) {
+        this.spreadX = spreadX;
+        this.spreadY = spreadY;
+        this.update();
+    }
+
+    /**
+     * Sets how deep the edge beneath the shown cards is drawn.
+     * <p>
+     * MUST be called on the FXThread.
+     *
+     * @param depthPerCard the depth of each card under the shown
+     *                     cards, in pixels.
+     * @param maxDepth     the greatest depth of the edge, in pixels.
+     */
+    public void setDepth(double depthPerCard, double maxDepth) {
+        this.depthPerCard = depthPerCard;
+        this.maxDepth = maxDepth;
+        this.update();
+    }
+
+    /**
+     * Sets whether the badge showing the number of cards is visible.
+     * <p>
+     * MUST be called on the FXThread.
+     *
+     * @param visible true to show the badge.
+     */
+    public void setBadgeVisible(boolean visible) {
+        this.badgeVisible = visible;
+        this.update();
+    }
+
+    /**
+     * Gets the {@link Label} showing the number of cards, so that it
+     * MAY be styled.
+     *
+     * @return the badge of this.
+     */
+    public Label getBadge() {
+        return this.badge;
+    }
+
+    private void requestUpdate() {
+        if (Platform.isFxApplicationThread()) {
+            this.update();
+        } else if (this.updatePending.compareAndSet(false, true)) {
+            FxWatchdog.runLater(this::update);
+        }
+    }
+
+    /**
+     * Brings the shown cards, edge and badge up to date with the
+     * recorded cards. Only the top cards are read, so this takes the
+     * same time for any size of pile.
+     */
+    private void update() {
+        this.updatePending.set(false);
+        int size;
+        this.topCards.clear();
+        synchronized (this.pile) {
+            size = this.pile.size();
+            Iterator<C> fromTop = this.pile.descendingIterator();
+            while (fromTop.hasNext() && this.topCards.size() < this.shown.length) {
+                this.topCards.add(fromTop.next());
+            }
+        }
+
+        boolean faceUp = this.faceUp;
+        for (int i = 0; i < this.shown.length; i++) {
+            ImageView view = this.shown[i];
+            if (i < this.topCards.size()) {
+                C card = this.topCards.get(i);
+                Image image = this.loadImage(faceUp
+                        ? this.urlResolver.getCardFrontURL(card)
+                        : this.urlResolver.getCardBackURL(card));
+                if (image != null && i == 0 && image.getWidth() > 0) {
+                    this.cardWidth = image.getWidth();
+                    this.cardHeight = image.getHeight();
+                }
+                view.setImage(image);
+                view.setVisible(true);
+            } else {
+                view.setImage(null);
+                view.setVisible(false);
+            }
+        }
+
+        // The shown cards fan out from the bottom-most shown card, so
+        // the top card sits furthest along the spread.
+        int count = this.topCards.size();
+        double depth = Math.min(this.maxDepth, Math.max(0, size - count) * this.depthPerCard);
+        for (int i = 0; i < this.shown.length; i++) {
+            int fromBottom = Math.max(0, count - 1 - i);
+            this.shown[i].relocate(fromBottom * this.spreadX, fromBottom * this.spreadY);
+        }
+
+        if (size == 0) {
+            // An outline marks where the pile is.
+            this.edge.setFill(Color.TRANSPARENT);
+            this.edge.setStroke(Color.GRAY);
+            this.edge.getStrokeDashArray().setAll(4.0, 4.0);
+            this.edge.relocate(0, 0);
+            this.edge.setVisible(true);
+        } else {
+            this.edge.setFill(Color.WHITESMOKE);
+            this.edge.setStroke(Color.DARKGRAY);
+            this.edge.getStrokeDashArray().clear();
+            this.edge.relocate(depth, depth);
+            this.edge.setVisible(depth > 0);
+        }
+        this.edge.setWidth(this.cardWidth);
+        this.edge.setHeight(this.cardHeight);
+
+        if (size != this.shownSize) {
+            this.shownSize = size;
+            this.badge.setText(Integer.toString(size));
+        }
+        this.badge.setVisible(this.badgeVisible && size > 0);
+        double topX = Math.max(0, count - 1) * this.spreadX;
+        double topY = Math.max(0, count - 1) * this.spreadY;
+        this.badge.relocate(topX + this.cardWidth - 4, topY - 4);
+    }
+
+    private Image loadImage(String url) {
+        try {
+            return CardImageCache.getImage(url);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid URL or resource not found: " + url);
+            e.printStackTrace();
+            return null;
+        }
+    }
+}
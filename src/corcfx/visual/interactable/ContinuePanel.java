@@ -20,6 +20,8 @@
 
 package corcfx.visual.interactable;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import javafx.scene.layout.VBox;
 
 /**
@@ -57,4 +59,29 @@ public class ContinuePanel extends OptionPanel<String> {
     public void getContinue() {
         super.getOptionClicked();
     }
+
+    /**
+     * Returns a {@link CompletableFuture} which is completed when the
+     * "Continue" Button is next clicked.
+     * <p>
+     * See {@link OptionPanel#getOptionFuture()}.
+     *
+     * @return the future of the next click.
+     */
+    public CompletableFuture<String> getContinueFuture() {
+        return super.getOptionFuture();
+    }
+
+    /**
+     * Returns a {@link CompletableFuture} which is completed when the
+     * "Continue" Button is next clicked, or when the specified timeout
+     * elapses, as though it was clicked.
+     *
+     * @param timeout how long to wait for a click.
+     * @param unit    the unit of the timeout.
+     * @return the future of the next click.
+     */
+    public CompletableFuture<String> getContinueFuture(long timeout, TimeUnit unit) {
+        return super.getOptionFuture(timeout, unit, ContinuePanel.options[0]);
+    }
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.visual.interactable;
+
+/**
+ * A {@link PaneLayout} which fans slots along an arc, such as a hand
+ * of cards held by a player.
+ * <p>
+ * Every slot is rotated about its center to follow the arc. As the
+ * angle of every slot depends on the number of slots, adding or
+ * removing a slot positions every slot again.
+ */
+public class FanLayout implements PaneLayout {
+
+    private final double RADIUS;
+    private final double ANGLE_STEP;
+    private final double MAX_SPREAD;
+
+    /**
+     * Creates a fanned arc layout.
+     *
+     * @param radius    the radius of the arc.
+     * @param angleStep the angle between neighbouring slots, in
+     *                  degrees.
+     * @param maxSpread the largest angle between the first and last
+     *                  slot, in degrees. The angle between slots is
+     *                  reduced to stay within it.
+     */
+    public FanLayout(double radius, double angleStep, double maxSpread) {
+        this.RADIUS = radius;
+        this.ANGLE_STEP = angleStep;
+        this.MAX_SPREAD = maxSpread;
+    }
+
+    @Override
+    public void layout(LayoutSlots slots, int from) {
+        int size = slots.size();
+        double step = size > 1 ? Math.min(this.ANGLE_STEP, this.MAX_SPREAD / (size - 1)) : 0;
+        double firstAngle = -step * (size - 1) / 2;
+        double firstSin = Math.sin(Math.toRadians(firstAngle));
+
+        for (int i = 0; i < size; i++) {
+            double angle = firstAngle + step * i;
+            double radians = Math.toRadians(angle);
+            double x = this.RADIUS * (Math.sin(radians) - firstSin);
+            double y = this.RADIUS * (1 - Math.cos(radians));
+            slots.setPosition(i, x, y, angle);
+        }
+    }
+
+    @Override
+    public int slotAt(LayoutSlots slots, double x, double y) {
+        return slots.closestIndexByX(x);
+    }
+
+    @Override
+    public boolean isCountDependent() {
+        return true;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.visual.interactable;
+
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+
+/**
+ * A user interactable {@link Pane} that fans its children along an
+ * arc, such as a poker hand, and allows them to be reordered by
+ * clicking and dragging.
+ * <p>
+ * The selected Node is shifted along its own vertical axis, so that
+ * it moves out of the fan.
+ */
+public class FanOrganizablePane extends LayoutOrganizablePane {
+
+    private final double SELECTED_SHIFT;
+
+    /**
+     * Creates a {@link Pane} that can have its children
+     * reordered by the user by clicking and dragging the
+     * child {@link Node}s.
+     *
+     * @param radius        the radius of the arc.
+     * @param angleStep     the angle between neighbouring children,
+     *                      in degrees.
+     * @param maxSpread     the largest angle between the first and
+     *                      last child, in degrees.
+     * @param selectedShift the amount to shift the selected Node along
+     *                      its vertical axis.
+     */
+    public FanOrganizablePane(double radius, double angleStep, double maxSpread, double selectedShift) {
+        super(new FanLayout(radius, angleStep, maxSpread));
+        this.SELECTED_SHIFT = selectedShift;
+    }
+
+    /**
+     * Unshift the node.
+     *
+     * @param node the Node to reset.
+     */
+    @Override
+    protected void resetSelectedNode(Node node) {
+        super.resetSelectedNode(node);
+        node.setTranslateX(0);
+        node.setTranslateY(0);
+    }
+
+    /**
+     * Shifts the node along its rotated vertical axis by the shift
+     * specified in the constructor.
+     *
+     * @param node the Node that had the primary mouse button pressed on.
+     */
+    @Override
+    protected void nodeSelected(Node node) {
+        super.nodeSelected(node);
+        double radians = Math.toRadians(node.getRotate());
+        node.setTranslateX(-this.SELECTED_SHIFT * Math.sin(radians));
+        node.setTranslateY(this.SELECTED_SHIFT * Math.cos(radians));
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.visual.interactable;
+
+/**
+ * A {@link PaneLayout} which places slots in rows of a fixed number
+ * of columns, filling each row from left to right.
+ * <p>
+ * The position of a slot depends only on its index.
+ */
+public class GridLayout implements PaneLayout {
+
+    private final int COLUMNS;
+    private final double COLUMN_WIDTH;
+    private final double ROW_HEIGHT;
+
+    /**
+     * Creates a grid layout.
+     *
+     * @param columns     the number of slots in each row.
+     * @param columnWidth the horizontal distance between the left
+     *                    edges of neighbouring slots.
+     * @param rowHeight   the vertical distance between the top edges
+     *                    of neighbouring rows.
+     */
+    public GridLayout(int columns, double columnWidth, double rowHeight) {
+        if (columns < 1) {
+            throw new IllegalArgumentException("A grid needs at least one column: " + columns);
+        }
+        this.COLUMNS = columns;
+        this.COLUMN_WIDTH = columnWidth;
+        this.ROW_HEIGHT = rowHeight;
+    }
+
+    @Override
+    public void layout(LayoutSlots slots, int from) {
+        for (int i = from; i < slots.size(); i++) {
+            slots.setPosition(i, (i % this.COLUMNS) * this.COLUMN_WIDTH, (i / this.COLUMNS) * this.ROW_HEIGHT, 0);
+        }
+    }
+
+    @Override
+    public int slotAt(LayoutSlots slots, double x, double y) {
+        int column = (int) Math.round(x / this.COLUMN_WIDTH);
+        column = Math.max(0, Math.min(column, this.COLUMNS - 1));
+        int row = Math.max(0, (int) Math.round(y / this.ROW_HEIGHT));
+        return Math.min(row * this.COLUMNS + column, slots.size() - 1);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.visual.interactable;
+
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+
+/**
+ * A user interactable {@link Pane} that places its children in a
+ * grid and allows them to be reordered by clicking and dragging.
+ * <p>
+ * Placing Nodes in rows, with a vertical shift when selected.
+ */
+public class GridOrganizablePane extends LayoutOrganizablePane {
+
+    private final double SELECTED_VERTICAL_SHIFT;
+
+    /**
+     * Creates a {@link Pane} that can have its children
+     * reordered by the user by clicking and dragging the
+     * child {@link Node}s.
+     *
+     * @param columns       the number of children in each row.
+     * @param columnWidth   the horizontal distance between
+     *                      neighbouring children.
+     * @param rowHeight     the vertical distance between
+     *                      neighbouring rows.
+     * @param verticalShift the amount to vertically shift the selected
+     *                      Node.
+     */
+    public GridOrganizablePane(int columns, double columnWidth, double rowHeight, double verticalShift) {
+        super(new GridLayout(columns, columnWidth, rowHeight));
+        this.SELECTED_VERTICAL_SHIFT = verticalShift;
+    }
+
+    /**
+     * Unshift the node.
+     *
+     * @param node the Node to reset.
+     */
+    @Override
+    protected void resetSelectedNode(Node node) {
+        super.resetSelectedNode(node);
+        node.setTranslateY(0);
+    }
+
+    /**
+     * Shifts the node by the vertical shift specified in the
+     * constructor.
+     *
+     * @param node the Node that had the primary mouse button pressed on.
+     */
+    @Override
+    protected void nodeSelected(Node node) {
+        super.nodeSelected(node);
+        node.setTranslateY(this.SELECTED_VERTICAL_SHIFT);
+    }
+}
@@ -24,7 +24,6 @@ import corcfx.Point;
 import corcfx.experimental.CardImageView;
 import java.util.ArrayList;
 import java.util.List;
-import javafx.collections.ObservableList;
 import javafx.scene.Node;
 import javafx.scene.layout.Pane;
 
@@ -43,6 +42,7 @@ public class HorizontalOrganizablePane extends OrganizablePane {
 
     private final double SELECTED_VERTICAL_SHIFT;
     private final double HORIZONTAL_SPACING;
+    private List<Node> explicitOrder;
 
     /**
      * Creates a {@link Pane} that can have its children
@@ -62,16 +62,48 @@ public class HorizontalOrganizablePane extends OrganizablePane {
      * the spacing specified by the constructor as well as
      * fix the layering, with Nodes with a smaller layoutX
      * being behind Nodes with a larger layoutX.
+     * <p>
+     * Nodes that are still moving are ordered by where they will end
+     * up, and are moved using the {@link corcfx.visual.LayoutAnimator}
+     * if one is set.
+     * <p>
+     * After {@link OrganizablePane#setNodeOrder(List)}, the given
+     * order is used instead of the layoutX of the Nodes.
      */
     @Override
     protected synchronized void orderChildren() {
-        ObservableList<Node> children = this.getChildren();
-        List<Node> copyOfChildren = new ArrayList<>(children);
-        copyOfChildren.sort((o1, o2) -> (int) (o1.getLayoutX() - o2.getLayoutX()));
+        List<Node> copyOfChildren = this.getOrganizableChildren();
+        copyOfChildren.sort((o1, o2) -> Double.compare(getTargetLayoutX(o1), getTargetLayoutX(o2)));
+        if (this.explicitOrder != null) {
+            List<Node> ordered = new ArrayList<>(copyOfChildren.size());
+            for (Node node : this.explicitOrder) {
+                if (node.getParent() == this && copyOfChildren.remove(node)) {
+                    ordered.add(node);
+                }
+            }
+            ordered.addAll(copyOfChildren);
+            copyOfChildren = ordered;
+            this.explicitOrder = null;
+        }
+        placeInOrder(copyOfChildren);
+    }
+
+    /**
+     * Keeps the order, to be used by the next call to
+     * {@link HorizontalOrganizablePane#orderChildren()}.
+     *
+     * @param order the children of this, in their new order.
+     */
+    @Override
+    protected void applyNodeOrder(List<Node> order) {
+        this.explicitOrder = order;
+    }
 
+    private void placeInOrder(List<Node> copyOfChildren) {
         for (int i = 0; i < copyOfChildren.size(); i++) {
             if (i == 0) {
-                copyOfChildren.get(0).setLayoutX(this.getLayoutX());
+                Node first = copyOfChildren.get(0);
+                placeChild(first, this.getLayoutX(), getTargetLayoutY(first));
                 // larger view order = farther behind
                 copyOfChildren.get(0).setViewOrder(copyOfChildren.size());
             } else {
@@ -82,8 +114,8 @@ public class HorizontalOrganizablePane extends OrganizablePane {
     }
 
     private void setNodeAfterOther(Node lead, Node follow) {
-        double lastNodeMaxX = lead.getLayoutX() + lead.getBoundsInLocal().getWidth();
-        follow.setLayoutX(lastNodeMaxX + this.HORIZONTAL_SPACING);
+        double lastNodeMaxX = getTargetLayoutX(lead) + getNodeWidth(lead);
+        placeChild(follow, lastNodeMaxX + this.HORIZONTAL_SPACING, getTargetLayoutY(follow));
     }
 
     /**
@@ -97,17 +129,20 @@ public class HorizontalOrganizablePane extends OrganizablePane {
     }
 
     private void setNodeAfterLast(Node node) {
-        ObservableList<Node> children = this.getChildren();
+        List<Node> children = this.getOrganizableChildren();
         if (children.size() == 1) {
             node.setLayoutX(this.getLayoutX());
         } else {
             Node last = children.get(0);
+            double lastX = getTargetLayoutX(last);
             for (Node child : children) {
-                if (child.getLayoutX() > last.getLayoutX()) {
+                double childX = getTargetLayoutX(child);
+                if (childX > lastX) {
                     last = child;
+                    lastX = childX;
                 }
             }
-            double lastNodeMaxX = last.getLayoutX() + last.getBoundsInLocal().getWidth();
+            double lastNodeMaxX = lastX + getNodeWidth(last);
             node.setLayoutX(lastNodeMaxX + this.HORIZONTAL_SPACING);
         }
     }
@@ -159,7 +194,34 @@ public class HorizontalOrganizablePane extends OrganizablePane {
      */
     @Override
     protected void onRelease(Node node, Point mousePoint) {
-        this.orderChildren();
+        this.runOrderChildren();
+    }
+
+    /**
+     * After releasing a dragged group, order all children with the
+     * group kept together, in its current left to right order, where
+     * the pressed Node was dropped.
+     *
+     * @param group      the selected Nodes.
+     * @param node       the Node that was pressed on.
+     * @param mousePoint the location of the mouse upon release.
+     */
+    @Override
+    protected synchronized void onGroupRelease(List<Node> group, Node node, Point mousePoint) {
+        List<Node> members = new ArrayList<>(group);
+        members.sort((o1, o2) -> Double.compare(o1.getLayoutX(), o2.getLayoutX()));
+
+        List<Node> others = this.getOrganizableChildren();
+        others.removeAll(members);
+        others.sort((o1, o2) -> Double.compare(getTargetLayoutX(o1), getTargetLayoutX(o2)));
+
+        double anchorX = node.getLayoutX();
+        int insertAt = 0;
+        while (insertAt < others.size() && getTargetLayoutX(others.get(insertAt)) < anchorX) {
+            insertAt++;
+        }
+        others.addAll(insertAt, members);
+        placeInOrder(others);
     }
 
 }
@@ -23,7 +23,12 @@ package corcfx.visual.interactable;
 import corc.structure.ICard;
 import corcfx.visual.CardImageView;
 import corcfx.visual.CardUrlResolver;
+import corcfx.visual.LayoutAnimator;
 import corcfx.visual.VisualHand;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javafx.scene.Node;
 
 /**
  * A {@link VisualHand} that uses an {@link OrganizablePane} to hold
@@ -34,6 +39,8 @@ import corcfx.visual.VisualHand;
 public abstract class HumanVisualHand<C extends ICard> extends VisualHand<C> {
 
     private final OrganizablePane HAND_PANE;
+    private volatile InputSource inputSource;
+    private volatile List<C> chosenCards;
 
     /**
      * Creates a {@link VisualHand} with an {@link OrganizablePane}
@@ -56,10 +63,18 @@ public abstract class HumanVisualHand<C extends ICard> extends VisualHand<C> {
      * If an error occurs while getting the selected card, the
      * exception will be printed to the standard error stream and
      * the method will return null.
+     * <p>
+     * If cards were chosen by the {@link InputSource} with
+     * {@link HumanVisualHand#chooseSelection()}, the first chosen card
+     * is returned instead.
      *
      * @return the card that has been selected.
      */
     public C getSelectedCard() {
+        List<C> chosen = this.chosenCards;
+        if (chosen != null) {
+            return chosen.isEmpty() ? null : chosen.get(0);
+        }
         try {
             //noinspection unchecked
             CardImageView<C> cardImageView = (CardImageView<C>) this.HAND_PANE.getSelectedNode();
@@ -71,11 +86,117 @@ public abstract class HumanVisualHand<C extends ICard> extends VisualHand<C> {
     }
 
     /**
-     * Deselects the currently selected card.
+     * A wrapper method for the {@link OrganizablePane} to get every
+     * card that has been selected, in the order they were selected.
+     * <p>
+     * Selected Nodes which are not {@link CardImageView}s are left
+     * out.
+     * <p>
+     * If cards were chosen by the {@link InputSource} with
+     * {@link HumanVisualHand#chooseSelection()}, the chosen cards are
+     * returned instead.
+     *
+     * @return the cards that have been selected; empty if none are.
+     */
+    public List<C> getSelectedCards() {
+        List<C> chosen = this.chosenCards;
+        if (chosen != null) {
+            return chosen;
+        }
+        List<Node> selectedNodes = this.HAND_PANE.getSelectedNodes();
+        List<C> cards = new ArrayList<>(selectedNodes.size());
+        for (Node node : selectedNodes) {
+            if (node instanceof CardImageView) {
+                //noinspection unchecked
+                cards.add(((CardImageView<C>) node).getCard());
+            }
+        }
+        return cards;
+    }
+
+    /**
+     * Sets the {@link InputSource} asked for the selected cards by
+     * {@link HumanVisualHand#chooseSelection()}. Cards chosen by the
+     * previous InputSource are forgotten.
+     *
+     * @param inputSource the InputSource to use, or null to only use
+     *                    the selection made by the user.
+     */
+    public void setInputSource(InputSource inputSource) {
+        this.inputSource = inputSource;
+        this.chosenCards = null;
+    }
+
+    public InputSource getInputSource() {
+        return this.inputSource;
+    }
+
+    /**
+     * Asks the {@link InputSource}, if one is set, which cards are
+     * selected for the current prompt.
+     * <p>
+     * The answer is kept, and returned by
+     * {@link HumanVisualHand#getSelectedCard()} and
+     * {@link HumanVisualHand#getSelectedCards()} however often they
+     * are called, until this is called again or
+     * {@link HumanVisualHand#deselectCard()} is called. This SHOULD be
+     * called once per prompt, before the selection is read.
+     *
+     * @return true if the InputSource chose cards, false if the
+     * selection made by the user is used.
+     */
+    public boolean chooseSelection() {
+        InputSource source = this.inputSource;
+        List<C> chosen = source == null ? null : source.chooseCards(this.getCards());
+        this.chosenCards = chosen == null ? null : Collections.unmodifiableList(new ArrayList<>(chosen));
+        return chosen != null;
+    }
+
+    /**
+     * Sets the {@link LayoutAnimator} used both for dealing cards in
+     * and for the reordering done by the {@link OrganizablePane}.
+     *
+     * @param layoutAnimator the LayoutAnimator to use, or null to
+     *                       place cards instantly.
+     */
+    @Override
+    public void setLayoutAnimator(LayoutAnimator layoutAnimator) {
+        super.setLayoutAnimator(layoutAnimator);
+        this.HAND_PANE.setLayoutAnimator(layoutAnimator);
+    }
+
+    /**
+     * Runs the changes inside a single
+     * {@link OrganizablePane#batchUpdate(Runnable)}, so the
+     * {@link OrganizablePane} orders its children once.
+     *
+     * @param changes the changes to make.
+     */
+    @Override
+    protected void applyInOneLayoutPass(Runnable changes) {
+        this.HAND_PANE.batchUpdate(changes);
+    }
+
+    /**
+     * Passes the order to
+     * {@link OrganizablePane#setNodeOrder(List)}, without removing
+     * and adding the {@link CardImageView}s.
+     *
+     * @param order every CardImageView of this, in order.
+     */
+    @Override
+    protected void reorderCardImageViews(List<CardImageView<C>> order) {
+        this.HAND_PANE.setNodeOrder(order);
+    }
+
+    /**
+     * Deselects every selected card, and forgets the cards chosen by
+     * the {@link InputSource}.
      *
      * A wrapper method for the {@link OrganizablePane#deselectNode()}.
      */
     public void deselectCard() {
+        this.chosenCards = null;
         this.HAND_PANE.deselectNode();
     }
 
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.visual.interactable;
+
+import corc.structure.ICard;
+import java.util.List;
+
+/**
+ * A source of user input for {@link OptionPanel}s and
+ * {@link HumanVisualHand}s.
+ * <p>
+ * When an InputSource is set on one of these, it is asked for the
+ * answer before the user is waited on, which allows prompts and card
+ * selections to be answered by scripts or bots at machine speed, with
+ * or without a visible stage.
+ * <p>
+ * Methods are called on the Model {@link Thread} that is waiting for
+ * the input, never on the FXThread. Implementations that are shared
+ * between Threads MUST be thread-safe.
+ */
+public interface InputSource {
+
+    /**
+     * Chooses one of the options of a prompt.
+     *
+     * @param title   the title of the prompt, which MAY be empty.
+     * @param options the options of the prompt, in display order.
+     * @param <T>     the class of the options.
+     * @return the chosen option, or null to wait for the user.
+     */
+    <T> T chooseOption(String title, List<T> options);
+
+    /**
+     * Chooses which cards of a hand are selected. Called once per
+     * {@link HumanVisualHand#chooseSelection()}.
+     *
+     * @param cards the cards in the hand.
+     * @param <C>   the class of the cards.
+     * @return the selected cards, or null to use the selection made by
+     * the user.
+     */
+    <C extends ICard> List<C> chooseCards(List<C> cards);
+}
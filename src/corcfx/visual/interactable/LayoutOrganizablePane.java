@@ -0,0 +1,278 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.visual.interactable;
+
+import corcfx.Point;
+import java.util.ArrayList;
+import java.util.List;
+import javafx.scene.Node;
+
+/**
+ * An {@link OrganizablePane} whose children are placed into slots by
+ * a pluggable {@link PaneLayout}.
+ * <p>
+ * The order of the slots is kept by this pane rather than recovered
+ * by sorting the children. Slot sizes and positions are stored in
+ * preallocated arrays, and only the slots whose position can have
+ * changed are positioned again after a child is added, removed or
+ * moved.
+ * <p>
+ * Released children are moved into the slot closest to where they
+ * were dropped.
+ */
+public abstract class LayoutOrganizablePane extends OrganizablePane {
+
+    private final PaneLayout PANE_LAYOUT;
+    private final LayoutSlots SLOTS = new LayoutSlots();
+    private final List<Node> SLOT_NODES = new ArrayList<>();
+
+    private int dirtyFrom = Integer.MAX_VALUE;
+
+    /**
+     * Creates an {@link OrganizablePane} which positions its children
+     * using the specified {@link PaneLayout}.
+     *
+     * @param paneLayout the PaneLayout to use.
+     */
+    protected LayoutOrganizablePane(PaneLayout paneLayout) {
+        this.PANE_LAYOUT = paneLayout;
+    }
+
+    /**
+     * Gets the {@link PaneLayout} used to position the children.
+     *
+     * @return the PaneLayout.
+     */
+    public PaneLayout getPaneLayout() {
+        return this.PANE_LAYOUT;
+    }
+
+    /**
+     * Gets the slot the child {@link Node} is in.
+     *
+     * @param node the child Node.
+     * @return the index of the slot, or -1 if the Node is not a child
+     * of this.
+     */
+    public int getSlotIndex(Node node) {
+        return this.SLOT_NODES.indexOf(node);
+    }
+
+    /**
+     * Positions every child again, such as after the size of a child
+     * has changed.
+     */
+    public void invalidateLayout() {
+        this.dirtyFrom = 0;
+        this.runOrderChildren();
+    }
+
+    /**
+     * Places the child {@link Node} in the last slot.
+     *
+     * @param node the Node that was added.
+     */
+    @Override
+    protected void nodeAdded(Node node) {
+        int index = this.SLOT_NODES.size();
+        this.SLOT_NODES.add(node);
+        this.SLOTS.insert(index, getNodeWidth(node), getNodeHeight(node));
+        markDirty(index);
+    }
+
+    /**
+     * Removes the slot of the child {@link Node}.
+     *
+     * @param node the Node that was removed.
+     */
+    @Override
+    protected void nodeRemoved(Node node) {
+        int index = this.SLOT_NODES.indexOf(node);
+        if (index >= 0) {
+            this.SLOT_NODES.remove(index);
+            this.SLOTS.remove(index);
+            markDirty(index);
+        }
+    }
+
+    /**
+     * Moves the listed children into the first slots, in the
+     * specified order. Only the slots from the first one that changed
+     * are positioned again.
+     *
+     * @param order the children of this, in their new order.
+     */
+    @Override
+    protected void applyNodeOrder(List<Node> order) {
+        int target = 0;
+        for (Node node : order) {
+            int from = this.SLOT_NODES.indexOf(node);
+            if (from < target) {
+                continue; // Listed twice.
+            }
+            if (from != target) {
+                this.SLOT_NODES.add(target, this.SLOT_NODES.remove(from));
+                this.SLOTS.move(from, target);
+                markDirty(target);
+            }
+            target++;
+        }
+    }
+
+    /**
+     * Allows the Node to be dragged freely.
+     *
+     * @param node             the Node that is being dragged by
+     *                         the mouse.
+     * @param newMouseLocation the new location of the mouse since
+     *                         the previous call to this method.
+     * @param oldMouseLocation the location of the mouse from the
+     *                         previous call to this method.
+     */
+    @Override
+    protected void moveNode(Node node, Point newMouseLocation, Point oldMouseLocation) {
+        node.setLayoutX(node.getLayoutX() + newMouseLocation.X - oldMouseLocation.X);
+        node.setLayoutY(node.getLayoutY() + newMouseLocation.Y - oldMouseLocation.Y);
+    }
+
+    /**
+     * Moves the released Node into the slot closest to where it was
+     * dropped and positions the affected slots.
+     *
+     * @param node       the Node that is no longer being pressed on.
+     * @param mousePoint the location of the mouse upon release.
+     */
+    @Override
+    protected void onRelease(Node node, Point mousePoint) {
+        int from = this.SLOT_NODES.indexOf(node);
+        if (from < 0) {
+            return;
+        }
+        int to = this.PANE_LAYOUT.slotAt(this.SLOTS, node.getLayoutX(), node.getLayoutY());
+        to = Math.max(0, Math.min(to, this.SLOT_NODES.size() - 1));
+        if (from != to) {
+            this.SLOT_NODES.add(to, this.SLOT_NODES.remove(from));
+            this.SLOTS.move(from, to);
+        }
+        markDirty(Math.min(from, to));
+        this.runOrderChildren();
+    }
+
+    /**
+     * Moves the released group into consecutive slots, in their
+     * current slot order, starting at the slot closest to where the
+     * pressed Node was dropped. The affected slots are positioned in
+     * a single pass.
+     *
+     * @param group      the selected Nodes.
+     * @param node       the Node that was pressed on.
+     * @param mousePoint the location of the mouse upon release.
+     */
+    @Override
+    protected void onGroupRelease(List<Node> group, Node node, Point mousePoint) {
+        int target = this.PANE_LAYOUT.slotAt(this.SLOTS, node.getLayoutX(), node.getLayoutY());
+
+        List<Node> members = new ArrayList<>();
+        int first = Integer.MAX_VALUE;
+        int before = 0;
+        for (int i = this.SLOT_NODES.size() - 1; i >= 0; i--) {
+            Node slotNode = this.SLOT_NODES.get(i);
+            if (group.contains(slotNode)) {
+                members.add(0, slotNode);
+                this.SLOT_NODES.remove(i);
+                this.SLOTS.remove(i);
+                first = i;
+                if (i < target) {
+                    before++;
+                }
+            }
+        }
+        if (members.isEmpty()) {
+            return;
+        }
+
+        target = Math.max(0, Math.min(target - before, this.SLOT_NODES.size()));
+        for (int i = 0; i < members.size(); i++) {
+            Node member = members.get(i);
+            this.SLOT_NODES.add(target + i, member);
+            this.SLOTS.insert(target + i, getNodeWidth(member), getNodeHeight(member));
+        }
+        markDirty(Math.min(first, target));
+        this.runOrderChildren();
+    }
+
+    /**
+     * Positions every slot that has changed since the last call, with
+     * later slots in front of earlier slots.
+     */
+    @Override
+    protected void orderChildren() {
+        int size = this.SLOT_NODES.size();
+        int from = this.dirtyFrom;
+        this.dirtyFrom = Integer.MAX_VALUE;
+        if (from >= size) {
+            return;
+        }
+
+        for (int i = from; i < size; i++) {
+            Node node = this.SLOT_NODES.get(i);
+            this.SLOTS.setSize(i, getNodeWidth(node), getNodeHeight(node));
+        }
+        this.PANE_LAYOUT.layout(this.SLOTS, from);
+
+        for (int i = from; i < size; i++) {
+            Node node = this.SLOT_NODES.get(i);
+            placeChild(node, this.SLOTS.getX(i), this.SLOTS.getY(i));
+            node.setRotate(this.SLOTS.getAngle(i));
+            if (!this.isNodeSelected(node)) {
+                // larger view order = farther behind
+                node.setViewOrder(-i);
+            }
+        }
+    }
+
+    /**
+     * Resets the view order of the Node to that of its slot.
+     *
+     * @param node the Node to reset.
+     */
+    @Override
+    protected void resetSelectedNode(Node node) {
+        int index = this.SLOT_NODES.indexOf(node);
+        if (index >= 0) {
+            node.setViewOrder(-index);
+        }
+    }
+
+    /**
+     * Moves the Node in front of every other child.
+     *
+     * @param node the Node that had the primary mouse button pressed on.
+     */
+    @Override
+    protected void nodeSelected(Node node) {
+        node.setViewOrder(-Double.MAX_VALUE); // Move to front
+    }
+
+    private void markDirty(int index) {
+        this.dirtyFrom = this.PANE_LAYOUT.isCountDependent() ? 0 : Math.min(this.dirtyFrom, index);
+    }
+}
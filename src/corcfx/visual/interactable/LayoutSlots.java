@@ -0,0 +1,183 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.visual.interactable;
+
+import java.util.Arrays;
+
+/**
+ * The sizes and computed positions of the slots of a
+ * {@link LayoutOrganizablePane}, stored in preallocated parallel
+ * arrays.
+ * <p>
+ * Slot sizes are filled in by the pane; a {@link PaneLayout} reads
+ * them and writes back each slot's position and rotation.
+ */
+public final class LayoutSlots {
+
+    private static final int INITIAL_CAPACITY = 54; // A deck with jokers.
+
+    private double[] widths = new double[INITIAL_CAPACITY];
+    private double[] heights = new double[INITIAL_CAPACITY];
+    private double[] xs = new double[INITIAL_CAPACITY];
+    private double[] ys = new double[INITIAL_CAPACITY];
+    private double[] angles = new double[INITIAL_CAPACITY];
+    private int size;
+
+    LayoutSlots() {
+    }
+
+    /**
+     * Gets the number of slots.
+     *
+     * @return the number of slots.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    public double getWidth(int index) {
+        return this.widths[index];
+    }
+
+    public double getHeight(int index) {
+        return this.heights[index];
+    }
+
+    public double getX(int index) {
+        return this.xs[index];
+    }
+
+    public double getY(int index) {
+        return this.ys[index];
+    }
+
+    public double getAngle(int index) {
+        return this.angles[index];
+    }
+
+    /**
+     * Sets the computed position of a slot.
+     *
+     * @param index the slot.
+     * @param x     the layoutX of the slot.
+     * @param y     the layoutY of the slot.
+     * @param angle the rotation of the slot, in degrees.
+     */
+    public void setPosition(int index, double x, double y, double angle) {
+        this.xs[index] = x;
+        this.ys[index] = y;
+        this.angles[index] = angle;
+    }
+
+    /**
+     * Returns the index of the slot whose layoutX is closest to the
+     * specified value. The slots MUST be positioned in ascending
+     * layoutX order.
+     *
+     * @param x the layoutX to search for.
+     * @return the index of the closest slot.
+     */
+    public int closestIndexByX(double x) {
+        return closestIndex(this.xs, x);
+    }
+
+    /**
+     * Returns the index of the slot whose layoutY is closest to the
+     * specified value. The slots MUST be positioned in ascending
+     * layoutY order.
+     *
+     * @param y the layoutY to search for.
+     * @return the index of the closest slot.
+     */
+    public int closestIndexByY(double y) {
+        return closestIndex(this.ys, y);
+    }
+
+    private int closestIndex(double[] values, double value) {
+        int low = 0;
+        int high = this.size - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (low > 0 && value - values[low - 1] < values[low] - value) {
+            return low - 1;
+        }
+        return low;
+    }
+
+    void setSize(int index, double width, double height) {
+        this.widths[index] = width;
+        this.heights[index] = height;
+    }
+
+    void insert(int index, double width, double height) {
+        ensureCapacity(this.size + 1);
+        int moved = this.size - index;
+        if (moved > 0) {
+            System.arraycopy(this.widths, index, this.widths, index + 1, moved);
+            System.arraycopy(this.heights, index, this.heights, index + 1, moved);
+            System.arraycopy(this.xs, index, this.xs, index + 1, moved);
+            System.arraycopy(this.ys, index, this.ys, index + 1, moved);
+            System.arraycopy(this.angles, index, this.angles, index + 1, moved);
+        }
+        this.size++;
+        setSize(index, width, height);
+    }
+
+    void remove(int index) {
+        int moved = this.size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(this.widths, index + 1, this.widths, index, moved);
+            System.arraycopy(this.heights, index + 1, this.heights, index, moved);
+            System.arraycopy(this.xs, index + 1, this.xs, index, moved);
+            System.arraycopy(this.ys, index + 1, this.ys, index, moved);
+            System.arraycopy(this.angles, index + 1, this.angles, index, moved);
+        }
+        this.size--;
+    }
+
+    void move(int from, int to) {
+        if (from == to) {
+            return;
+        }
+        double width = this.widths[from];
+        double height = this.heights[from];
+        remove(from);
+        insert(to, width, height);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= this.widths.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, this.widths.length * 2);
+        this.widths = Arrays.copyOf(this.widths, newLength);
+        this.heights = Arrays.copyOf(this.heights, newLength);
+        this.xs = Arrays.copyOf(this.xs, newLength);
+        this.ys = Arrays.copyOf(this.ys, newLength);
+        this.angles = Arrays.copyOf(this.angles, newLength);
+    }
+}
@@ -20,6 +20,17 @@
 package corcfx.visual.interactable;
 
 import corc.core.Logger;
+import corcfx.jfr.OptionWaitEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.layout.Pane;
@@ -33,9 +44,21 @@ import javafx.scene.layout.VBox;
  * This is meant to be treated as a sort-of "Menu Screen" callable by
  * a Model {@link Thread} in the Model-View-Controller paradigm.
  * <p>
+ * The Model can either block until an option is clicked, using
+ * {@link OptionPanel#getOptionClicked()}, or obtain a
+ * {@link CompletableFuture} of the option, using
+ * {@link OptionPanel#getOptionFuture()}, which can be awaited with a
+ * timeout, completed with a default option after a timeout, or
+ * cancelled.
+ * <p>
  * When using this, it is RECOMMENDED to add/remove this from the
  * display as needed using the {@link Pane#getChildren()} of the
  * parent Pane.
+ * <p>
+ * A single OptionPanel MAY be reused for many prompts by calling
+ * {@link OptionPanel#rebind(String, Object[])}, which reuses the
+ * title {@link Label} and a pool of Buttons instead of creating new
+ * Nodes for every prompt.
  *
  * @param <T> the class of the options.
  */
@@ -49,9 +72,19 @@ public abstract class OptionPanel<T> extends Pane {
     public static final String DEFAULT_BUTTON_STYLE = "DEFAULT";
     public static final String DEFAULT_TITLE = "";
     public static final double MIN_BUTTON_WIDTH = 50;
+    public static final String TITLE_STYLE_CLASS = "corcfx-option-title";
+    public static final String BUTTON_STYLE_CLASS = "corcfx-option-button";
+
+    private final Pane pane;
+    private final Label header = new Label();
+    private final List<Button> buttonPool = new ArrayList<>();
+    private final String buttonStyle;
+    private final double minButtonWidth;
 
-    private T optionClicked;
-    private volatile boolean clicked;
+    private volatile String title;
+    private volatile List<T> options;
+    private CompletableFuture<T> pendingOption;
+    private volatile InputSource inputSource;
 
     /**
      * This constructor will use the options given and then uses the
@@ -89,60 +122,242 @@ public abstract class OptionPanel<T> extends Pane {
      */
     public OptionPanel(Pane pane, String title, T[] options, String titleStyle, String buttonStyle, double minButtonWidth) {
         this.getChildren().add(pane);
-        OptionPanel<T> that = this; // Prevents confusion in lambdas.
+        this.pane = pane;
+        this.buttonStyle = buttonStyle;
+        this.minButtonWidth = minButtonWidth;
 
+        this.header.setStyle(titleStyle);
+        this.header.getStyleClass().add(TITLE_STYLE_CLASS);
+
+        this.rebind(title, options);
+    }
+
+    /**
+     * Shows a new title and new options on this, reusing the existing
+     * title {@link Label} and option {@link Button}s.
+     * <p>
+     * WARNING: MUST be called on the FXThread once this has been added
+     * to a displayed {@link javafx.scene.Scene}.
+     * <p>
+     * Buttons are taken from a pool which only grows when more options
+     * are shown than ever before; unused Buttons are removed from the
+     * Pane but kept for later prompts. Each pooled Button keeps the
+     * style it was created with, so the style is not set again.
+     * <p>
+     * A pending option future is kept, and will be completed with
+     * whichever of the new options is clicked.
+     *
+     * @param title   the text for the title Label; an empty String
+     *                hides the title.
+     * @param options the options to be displayed as Buttons.
+     */
+    public void rebind(String title, T[] options) {
+        this.title = title;
+        this.options = Collections.unmodifiableList(Arrays.asList(options.clone()));
+
+        while (this.buttonPool.size() < options.length) {
+            this.buttonPool.add(this.createButton(this.buttonPool.size()));
+        }
+
+        List<Node> shown = new ArrayList<>(options.length + 1);
         if (title.length() != 0) {
-            Label header = new Label(title);
-            header.setStyle(titleStyle);
-            pane.getChildren().add(header);
+            this.header.setText(title);
+            shown.add(this.header);
+        }
+        for (int i = 0; i < options.length; i++) {
+            Button button = this.buttonPool.get(i);
+            button.setText(options[i].toString());
+            shown.add(button);
         }
 
-        for (T option : options) {
-            Button button = new Button(option.toString());
-            button.setMinWidth(minButtonWidth);
-            if (!buttonStyle.equals(DEFAULT_BUTTON_STYLE)) {
-                button.setStyle(buttonStyle);
-            }
-            button.setOnAction(e -> {
-                that.optionClicked = option;
-                that.clicked = true;
-                that.startNotifyAll();
-            });
-            pane.getChildren().add(button);
+        if (!this.pane.getChildren().equals(shown)) {
+            this.pane.getChildren().setAll(shown);
         }
     }
 
+    /**
+     * Shows new options on this, keeping the current title.
+     * <p>
+     * See {@link OptionPanel#rebind(String, Object[])}.
+     *
+     * @param options the options to be displayed as Buttons.
+     */
+    public void rebind(T[] options) {
+        this.rebind(this.title, options);
+    }
+
+    private Button createButton(int index) {
+        Button button = new Button();
+        button.setMinWidth(this.minButtonWidth);
+        button.getStyleClass().add(BUTTON_STYLE_CLASS);
+        if (!this.buttonStyle.equals(DEFAULT_BUTTON_STYLE)) {
+            button.setStyle(this.buttonStyle);
+        }
+        button.setOnAction(e -> this.optionSelected(index));
+        return button;
+    }
+
     /**
      * Waits for one of the option {@link Button}s to be clicked.
      * <p>
      * WARNING: MUST NOT be called on the FXThread. The calling
-     * {@link Thread} will have {@link Thread#wait()} called on it
-     * until a button is clicked.
+     * {@link Thread} will be blocked until a button is clicked.
+     * <p>
+     * If the calling Thread is interrupted, a warning is logged and
+     * the Thread keeps waiting; its interrupt status is restored once
+     * an option has been clicked.
      *
      * @return the option that was clicked.
+     * @throws CancellationException if the pending option was
+     *                               cancelled.
      */
     protected T getOptionClicked() {
-        this.clicked = false;
-        startWaitForClick();
-        return this.optionClicked;
+        CompletableFuture<T> future = this.getOptionFuture();
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    Logger.logWarning("Option Pane interrupted while waiting");
+                } catch (ExecutionException e) {
+                    throw new CompletionException(e.getCause());
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
     }
 
-    private synchronized void startWaitForClick() {
-        /*
-         * Why still use a boolean flag? Because a Thread can be
-         * woken up before the condition is met.
-         */
-        while (!clicked) {
-            try {
-                wait();
-            } catch (InterruptedException e) {
-                Logger.logWarning("Option Pane interrupted while waiting");
+    /**
+     * Returns a {@link CompletableFuture} which is completed with the
+     * next option to be clicked.
+     * <p>
+     * Clicks made before this is called are ignored. If a previously
+     * returned future has not completed yet, the same future is
+     * returned, so every caller receives the same click.
+     * <p>
+     * The future is completed on the FXThread. It MAY be cancelled to
+     * stop waiting for a click. This method does not block and MAY be
+     * called on any Thread.
+     * <p>
+     * If an {@link InputSource} is set, it is asked for the option
+     * first, and the future is returned already completed if it
+     * answers.
+     * <p>
+     * Each call is recorded as an {@link OptionWaitEvent} when Java
+     * Flight Recorder is recording.
+     *
+     * @return the future of the next clicked option.
+     */
+    protected CompletableFuture<T> getOptionFuture() {
+        CompletableFuture<T> pending = this.getPendingOption();
+        this.recordWait(pending, pending);
+        return pending;
+    }
+
+    private CompletableFuture<T> getPendingOption() {
+        CompletableFuture<T> pending;
+        synchronized (this) {
+            pending = this.pendingOption;
+            if (pending != null && !pending.isDone()) {
+                return pending;
+            }
+            pending = new CompletableFuture<>();
+            this.pendingOption = pending;
+        }
+
+        InputSource source = this.inputSource;
+        if (source != null) {
+            T option = source.chooseOption(this.title, this.options);
+            if (option != null) {
+                pending.complete(option);
             }
         }
+        return pending;
+    }
+
+    /**
+     * Returns a {@link CompletableFuture} which is completed with the
+     * next option to be clicked, or with the specified default option
+     * if no option is clicked within the specified timeout.
+     * <p>
+     * The returned future depends on the shared pending option, so
+     * its timeout, default option and cancellation only affect the
+     * caller; other callers keep waiting for a click. The wait is
+     * recorded as its own {@link OptionWaitEvent}, which is committed
+     * when the returned future completes.
+     * <p>
+     * See {@link OptionPanel#getOptionFuture()}.
+     *
+     * @param timeout       how long to wait for a click.
+     * @param unit          the unit of the timeout.
+     * @param defaultOption the option to complete with if the timeout
+     *                      elapses.
+     * @return the future of the next clicked option.
+     */
+    protected CompletableFuture<T> getOptionFuture(long timeout, TimeUnit unit, T defaultOption) {
+        CompletableFuture<T> pending = this.getPendingOption();
+        CompletableFuture<T> future = pending.copy().completeOnTimeout(defaultOption, timeout, unit);
+        this.recordWait(future, pending);
+        return future;
+    }
+
+    /**
+     * Sets the {@link InputSource} asked for the option before the
+     * user is waited on.
+     *
+     * @param inputSource the InputSource to use, or null to only wait
+     *                    for the user.
+     */
+    public void setInputSource(InputSource inputSource) {
+        this.inputSource = inputSource;
+    }
+
+    public InputSource getInputSource() {
+        return this.inputSource;
+    }
+
+    /**
+     * Records the wait of a caller on the future returned to it, which
+     * is either the pending option or a copy of it with a timeout.
+     */
+    private void recordWait(CompletableFuture<T> returned, CompletableFuture<T> pending) {
+        OptionWaitEvent event = new OptionWaitEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.begin();
+        event.setPrompt(this.title, this.options.size());
+        returned.whenComplete((option, throwable) -> {
+            event.end();
+            if (event.shouldCommit()) {
+                event.setAnswer(option, throwable != null);
+                // A copy completed without its pending option timed out.
+                event.setTimedOut(throwable == null && returned != pending && !pending.isDone());
+                event.commit();
+            }
+        });
     }
 
-    private synchronized void startNotifyAll() {
-        notifyAll();
+    private void optionSelected(int index) {
+        List<T> current = this.options;
+        if (index >= current.size()) {
+            return;
+        }
+        T option = current.get(index);
+        CompletableFuture<T> pending;
+        synchronized (this) {
+            pending = this.pendingOption;
+        }
+        // Completed outside of the monitor, as completing runs any
+        // dependent actions of the future.
+        if (pending != null) {
+            pending.complete(option);
+        }
     }
 
 }
@@ -21,76 +21,175 @@
 package corcfx.visual.interactable;
 
 import corcfx.Point;
+import corcfx.jfr.OrderChildrenEvent;
+import corcfx.visual.CardMetrics;
+import corcfx.visual.LayoutAnimator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import javafx.collections.ListChangeListener;
 import javafx.event.EventHandler;
+import javafx.geometry.Bounds;
 import javafx.scene.Node;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.transform.Translate;
 
+/**
+ * A user interactable {@link Pane} whose children can be selected and
+ * dragged with the mouse.
+ * <p>
+ * Several children can be selected at once, either by pressing on
+ * them while holding the shortcut key (toggle) or shift key (add), or
+ * by dragging a rubber band over them from an empty part of this.
+ * Dragging any selected child drags the whole group: the pressed
+ * child is moved through
+ * {@link OrganizablePane#moveNode(Node, Point, Point)} and the rest
+ * of the group follows it through a single shared {@link Translate}.
+ */
 public abstract class OrganizablePane extends Pane {
 
+    private final List<Node> selectedNodes = new ArrayList<>();
+    private final List<Node> unmodifiableSelectedNodes = Collections.unmodifiableList(selectedNodes);
+    private final Rectangle rubberBand = new Rectangle();
+
     private Node nodeBeingMoved;
     private Node selectedNode;
     private Point oldMousePoint;
+    private LayoutAnimator layoutAnimator;
 
-    private EventHandler<MouseEvent> mousePressed = event -> {
-        if (event.getButton() == MouseButton.PRIMARY && event.getSource() instanceof Node) {
-            oldMousePoint = new Point(event.getSceneX(), event.getSceneY());
+    private Translate groupTranslate;
+    private double groupStartX;
+    private double groupStartY;
+    private Point rubberBandStart;
 
-            if (selectedNode != null) {
-                resetSelectedNode(selectedNode);
+    private int batchDepth;
+    private boolean orderPending;
+
+    private EventHandler<MouseEvent> mousePressed = event -> {
+        if (event.getButton() != MouseButton.PRIMARY) {
+            return;
+        }
+        Node node = findChild(event.getTarget());
+        if (node == null) {
+            if (event.getTarget() == this) {
+                rubberBandStart = new Point(event.getX(), event.getY());
             }
+            return;
+        }
 
-            selectedNode = (Node) event.getSource();
-            nodeSelected(selectedNode);
-            nodeBeingMoved = selectedNode;
+        oldMousePoint = new Point(event.getSceneX(), event.getSceneY());
+        if (event.isShortcutDown() && selectedNodes.contains(node)) {
+            deselect(node);
+            nodeBeingMoved = null;
+            return;
+        }
+        if (!event.isShortcutDown() && !event.isShiftDown() && !selectedNodes.contains(node)) {
+            deselectNode();
+        }
+
+        select(node);
+        nodeBeingMoved = node;
+        if (layoutAnimator != null) {
+            for (Node selected : selectedNodes) {
+                layoutAnimator.stop(selected); // The mouse takes over.
+            }
         }
     };
 
     private EventHandler<MouseEvent> mouseDragged = event -> {
-        if (event.getButton() == MouseButton.PRIMARY) {
+        if (rubberBandStart != null) {
+            dragRubberBand(event);
+        } else if (event.getButton() == MouseButton.PRIMARY && nodeBeingMoved != null) {
             Point newMouseLocation = new Point(event.getSceneX(), event.getSceneY());
+            if (selectedNodes.size() > 1 && groupTranslate == null) {
+                startGroupDrag();
+            }
             moveNode(selectedNode, newMouseLocation, oldMousePoint);
+            if (groupTranslate != null) {
+                groupTranslate.setX(selectedNode.getLayoutX() - groupStartX);
+                groupTranslate.setY(selectedNode.getLayoutY() - groupStartY);
+            }
             oldMousePoint = newMouseLocation;
         }
     };
 
     private EventHandler<MouseEvent> mouseReleased = event -> {
+        if (rubberBandStart != null) {
+            releaseRubberBand(event);
+            return;
+        }
+        if (nodeBeingMoved == null && findChild(event.getTarget()) == null) {
+            return;
+        }
         oldMousePoint = new Point(event.getSceneX(), event.getSceneY());
-        onRelease(nodeBeingMoved, oldMousePoint);
+        if (groupTranslate != null) {
+            List<Node> group = new ArrayList<>(selectedNodes);
+            endGroupDrag();
+            onGroupRelease(group, nodeBeingMoved, oldMousePoint);
+        } else {
+            onRelease(nodeBeingMoved, oldMousePoint);
+        }
         nodeBeingMoved = null;
     };
 
+    /**
+     * Creates an OrganizablePane.
+     * <p>
+     * Mouse input is handled by a single set of event filters on this
+     * pane, which find the child that was pressed on. Adding or
+     * removing children does not add or remove any event handlers.
+     */
     public OrganizablePane() {
+        rubberBand.setManaged(false);
+        rubberBand.setMouseTransparent(true);
+        rubberBand.setFill(Color.rgb(30, 144, 255, 0.2));
+        rubberBand.setStroke(Color.DODGERBLUE);
+        rubberBand.setViewOrder(-Double.MAX_VALUE);
+
+        this.addEventFilter(MouseEvent.MOUSE_PRESSED, mousePressed);
+        this.addEventFilter(MouseEvent.MOUSE_DRAGGED, mouseDragged);
+        this.addEventFilter(MouseEvent.MOUSE_RELEASED, mouseReleased);
+
         this.getChildren().addListener((ListChangeListener<? super Node>) c -> {
             while (c.next()) {
                 if (c.wasAdded()) {
+                    boolean added = false;
                     for (Node node : c.getAddedSubList()) {
-                        node.setOnMousePressed(mousePressed);
-                        node.setOnMouseDragged(mouseDragged);
-                        node.setOnMouseReleased(mouseReleased);
+                        if (node == rubberBand) {
+                            continue;
+                        }
                         nodeAdded(node);
+                        added = true;
+                    }
+                    if (added) {
+                        requestOrder();
                     }
-                    orderChildren();
                 }
                 if (c.wasRemoved()) {
+                    boolean removed = false;
                     for (Node node : c.getRemoved()) {
-                        if (node.getOnMousePressed() == mousePressed) {
-                            node.setOnMousePressed(null);
+                        if (node == rubberBand) {
+                            continue;
                         }
-                        if (node.getOnMouseDragged() == mouseDragged) {
-                            node.setOnMouseDragged(null);
+                        if (selectedNodes.contains(node)) {
+                            deselect(node);
                         }
-                        if (node.getOnMouseReleased() == mouseReleased) {
-                            node.setOnMouseReleased(null);
+                        if (node == nodeBeingMoved) {
+                            nodeBeingMoved = null;
                         }
-                        if (node == selectedNode) {
-                            deselectNode();
+                        if (layoutAnimator != null) {
+                            layoutAnimator.stop(node);
                         }
                         nodeRemoved(node);
+                        removed = true;
+                    }
+                    if (removed) {
+                        requestOrder();
                     }
-                    orderChildren();
                 }
             }
         });
@@ -107,14 +206,327 @@ public abstract class OrganizablePane extends Pane {
     }
 
     /**
-     * Resets the current last selected {@link Node} if it exists and
-     * sets the most recent selected Node to null.
+     * Get every selected {@link Node}, in the order they were
+     * selected.
+     * <p>
+     * The returned list is a read-only view which reflects later
+     * changes to the selection.
+     *
+     * @return the selected Nodes.
+     */
+    public List<Node> getSelectedNodes() {
+        return unmodifiableSelectedNodes;
+    }
+
+    /**
+     * Returns whether the child {@link Node} is selected.
+     *
+     * @param node the child Node.
+     * @return true if the Node is selected.
+     */
+    public boolean isNodeSelected(Node node) {
+        return selectedNodes.contains(node);
+    }
+
+    /**
+     * Selects the child {@link Node}, making it the most recent
+     * selected Node.
+     *
+     * @param node             the child Node to select.
+     * @param addToSelection   true to keep the Nodes that are already
+     *                         selected, false to deselect them first.
+     */
+    public void selectNode(Node node, boolean addToSelection) {
+        if (node.getParent() != this) {
+            throw new IllegalArgumentException("Node is not a child of this pane: " + node);
+        }
+        if (!addToSelection) {
+            deselectNode();
+        }
+        select(node);
+    }
+
+    /**
+     * Resets every selected {@link Node} and clears the selection,
+     * including the most recent selected Node.
      */
     public void deselectNode() {
-        resetSelectedNode(selectedNode);
+        for (Node node : new ArrayList<>(selectedNodes)) {
+            resetSelectedNode(node);
+        }
+        selectedNodes.clear();
         selectedNode = null;
     }
 
+    /**
+     * Runs the specified changes to the children of this, ordering the
+     * children once afterwards instead of after every addition and
+     * removal.
+     * <p>
+     * Calls MAY be nested; the children are ordered when the outermost
+     * call returns. MUST be called on the FXThread.
+     *
+     * @param changes the changes to make.
+     */
+    public void batchUpdate(Runnable changes) {
+        this.batchDepth++;
+        try {
+            changes.run();
+        } finally {
+            if (--this.batchDepth == 0 && this.orderPending) {
+                this.orderPending = false;
+                this.runOrderChildren();
+            }
+        }
+    }
+
+    /**
+     * Arranges the children of this in the specified order and orders
+     * them. Children left out of the list keep their relative order
+     * after the listed children.
+     * <p>
+     * MUST be called on the FXThread.
+     *
+     * @param order the children of this, in their new order.
+     */
+    public void setNodeOrder(List<? extends Node> order) {
+        List<Node> nodes = new ArrayList<>(order.size());
+        for (Node node : order) {
+            if (node.getParent() != this || node == rubberBand) {
+                throw new IllegalArgumentException("Node is not a child of this pane: " + node);
+            }
+            nodes.add(node);
+        }
+        applyNodeOrder(nodes);
+        requestOrder();
+    }
+
+    /**
+     * Orders the children of this, recording the pass as an
+     * {@link OrderChildrenEvent} when Java Flight Recorder is
+     * recording. Used instead of calling
+     * {@link OrganizablePane#orderChildren()} directly.
+     */
+    final void runOrderChildren() {
+        OrderChildrenEvent event = new OrderChildrenEvent();
+        event.begin();
+        this.orderChildren();
+        event.end();
+        if (event.shouldCommit()) {
+            event.setPane(this.getClass(), this.getChildren().size());
+            event.commit();
+        }
+    }
+
+    private void requestOrder() {
+        if (this.batchDepth > 0) {
+            this.orderPending = true;
+        } else {
+            this.runOrderChildren();
+        }
+    }
+
+    /**
+     * Returns a copy of the children that are organized by this,
+     * leaving out Nodes used by this for interaction, such as the
+     * rubber band.
+     *
+     * @return the organized children.
+     */
+    protected final List<Node> getOrganizableChildren() {
+        List<Node> children = new ArrayList<>(this.getChildren());
+        children.remove(rubberBand);
+        return children;
+    }
+
+    /**
+     * Finds the child of this that contains the event target, by
+     * walking up from the target to this.
+     */
+    private Node findChild(Object target) {
+        if (!(target instanceof Node)) {
+            return null;
+        }
+        Node node = (Node) target;
+        while (node != null && node.getParent() != this) {
+            node = node.getParent();
+        }
+        return node == rubberBand ? null : node;
+    }
+
+    private void dragRubberBand(MouseEvent event) {
+        if (rubberBand.getParent() == null) {
+            this.getChildren().add(rubberBand);
+        }
+        rubberBand.setX(Math.min(rubberBandStart.X, event.getX()));
+        rubberBand.setY(Math.min(rubberBandStart.Y, event.getY()));
+        rubberBand.setWidth(Math.abs(event.getX() - rubberBandStart.X));
+        rubberBand.setHeight(Math.abs(event.getY() - rubberBandStart.Y));
+    }
+
+    private void releaseRubberBand(MouseEvent event) {
+        rubberBandStart = null;
+        if (rubberBand.getParent() != this) {
+            return; // A click, not a drag.
+        }
+        Bounds band = rubberBand.getBoundsInParent();
+        this.getChildren().remove(rubberBand);
+        if (!event.isShortcutDown() && !event.isShiftDown()) {
+            deselectNode();
+        }
+        for (Node child : this.getChildren()) {
+            if (child.getBoundsInParent().intersects(band)) {
+                select(child);
+            }
+        }
+    }
+
+    private void select(Node node) {
+        if (!selectedNodes.contains(node)) {
+            selectedNodes.add(node);
+        }
+        selectedNode = node;
+        nodeSelected(node);
+    }
+
+    private void deselect(Node node) {
+        if (groupTranslate != null) {
+            if (node == selectedNode) {
+                // The rest of the group no longer has a node to follow.
+                endGroupDrag();
+            } else {
+                node.getTransforms().remove(groupTranslate);
+            }
+        }
+        selectedNodes.remove(node);
+        resetSelectedNode(node);
+        if (node == selectedNode) {
+            selectedNode = selectedNodes.isEmpty() ? null : selectedNodes.get(selectedNodes.size() - 1);
+        }
+    }
+
+    private void startGroupDrag() {
+        groupTranslate = new Translate();
+        groupStartX = selectedNode.getLayoutX();
+        groupStartY = selectedNode.getLayoutY();
+        for (Node node : selectedNodes) {
+            if (node != selectedNode) {
+                node.getTransforms().add(groupTranslate);
+            }
+        }
+    }
+
+    private void endGroupDrag() {
+        for (Node node : selectedNodes) {
+            if (node.getTransforms().remove(groupTranslate)) {
+                node.setLayoutX(node.getLayoutX() + groupTranslate.getX());
+                node.setLayoutY(node.getLayoutY() + groupTranslate.getY());
+            }
+        }
+        groupTranslate = null;
+    }
+
+    /**
+     * Sets the {@link LayoutAnimator} used to move children to their
+     * new positions. When null, children are moved instantly.
+     * <p>
+     * The same LayoutAnimator SHOULD be shared by every pane of a
+     * table so that all moving cards are driven by a single timer.
+     *
+     * @param layoutAnimator the LayoutAnimator to use, or null.
+     */
+    public void setLayoutAnimator(LayoutAnimator layoutAnimator) {
+        if (this.layoutAnimator != null && layoutAnimator == null) {
+            for (Node child : this.getChildren()) {
+                this.layoutAnimator.stop(child);
+            }
+        }
+        this.layoutAnimator = layoutAnimator;
+    }
+
+    /**
+     * Gets the {@link LayoutAnimator} used to move children.
+     *
+     * @return the LayoutAnimator, or null if children are moved
+     * instantly.
+     */
+    public LayoutAnimator getLayoutAnimator() {
+        return this.layoutAnimator;
+    }
+
+    /**
+     * Moves the child {@link Node} to the specified layout position,
+     * using the {@link LayoutAnimator} if one is set.
+     *
+     * @param node the child Node to move.
+     * @param x    the new layoutX.
+     * @param y    the new layoutY.
+     */
+    protected final void placeChild(Node node, double x, double y) {
+        if (this.layoutAnimator == null) {
+            node.setLayoutX(x);
+            node.setLayoutY(y);
+        } else {
+            this.layoutAnimator.animateTo(node, x, y);
+        }
+    }
+
+    /**
+     * Gets the layoutX the child {@link Node} will have once any move
+     * in progress has finished.
+     *
+     * @param node the child Node.
+     * @return the final layoutX of the Node.
+     */
+    protected final double getTargetLayoutX(Node node) {
+        return this.layoutAnimator == null ? node.getLayoutX() : this.layoutAnimator.getTargetX(node);
+    }
+
+    /**
+     * Gets the layoutY the child {@link Node} will have once any move
+     * in progress has finished.
+     *
+     * @param node the child Node.
+     * @return the final layoutY of the Node.
+     */
+    protected final double getTargetLayoutY(Node node) {
+        return this.layoutAnimator == null ? node.getLayoutY() : this.layoutAnimator.getTargetY(node);
+    }
+
+    /**
+     * Gets the width of the child {@link Node}.
+     * <p>
+     * Uses the cached width published by {@link CardMetrics} Nodes,
+     * such as {@link corcfx.visual.CardImageView}s, instead of
+     * computing the bounds of the Node.
+     *
+     * @param node the child Node.
+     * @return the width of the Node.
+     */
+    protected final double getNodeWidth(Node node) {
+        if (node instanceof CardMetrics) {
+            return ((CardMetrics) node).getCardWidth();
+        }
+        return node.getBoundsInLocal().getWidth();
+    }
+
+    /**
+     * Gets the height of the child {@link Node}.
+     * <p>
+     * Uses the cached height published by {@link CardMetrics} Nodes,
+     * such as {@link corcfx.visual.CardImageView}s, instead of
+     * computing the bounds of the Node.
+     *
+     * @param node the child Node.
+     * @return the height of the Node.
+     */
+    protected final double getNodeHeight(Node node) {
+        if (node instanceof CardMetrics) {
+            return ((CardMetrics) node).getCardHeight();
+        }
+        return node.getBoundsInLocal().getHeight();
+    }
+
     /**
      * Called whenever a child {@link Node} is added to this.
      * <p>
@@ -138,9 +550,10 @@ public abstract class OrganizablePane extends Pane {
     }
 
     /**
-     * Called on the previously selected {@link Node} when a new Node
-     * is pressed. Can also be called on the currently selected Node
-     * by the {@link OrganizablePane#deselectNode()} method.
+     * Called on each previously selected {@link Node} when a new Node
+     * is pressed without a modifier key, and on any Node removed from
+     * the selection. Can also be called on the currently selected
+     * Nodes by the {@link OrganizablePane#deselectNode()} method.
      * <p>
      * By default, this method is empty and can be overridden as an
      * API hook. Any override SHOULD call the super method.
@@ -152,12 +565,13 @@ public abstract class OrganizablePane extends Pane {
     }
 
     /**
-     * Called whenever a child {@link Node} has the primary mouse
-     * button pressed on it.
+     * Called whenever a child {@link Node} is selected, either by
+     * having the primary mouse button pressed on it or by a rubber
+     * band selection.
      * <p>
-     * The previous node that was selected will have the
-     * {@link OrganizablePane#resetSelectedNode(Node)} method called
-     * on it.
+     * Unless a modifier key is held, the previously selected Nodes
+     * will have the {@link OrganizablePane#resetSelectedNode(Node)}
+     * method called on them first.
      * <p>
      * By default, this method is empty and can be overridden as an
      * API hook. Any override SHOULD call the super method.
@@ -205,9 +619,43 @@ public abstract class OrganizablePane extends Pane {
 
     }
 
+    /**
+     * Called whenever a group of selected {@link Node}s has been
+     * dragged and the primary mouse button is released.
+     * <p>
+     * The drag of the group has already been applied to the layout
+     * position of every Node in the group.
+     * <p>
+     * By default, this method calls
+     * {@link OrganizablePane#onRelease(Node, Point)} with the Node
+     * that was pressed on. Overrides SHOULD place the whole group
+     * with a single ordering pass.
+     *
+     * @param group      the selected Nodes, in the order they were
+     *                   selected.
+     * @param node       the Node that was pressed on.
+     * @param mousePoint the location of the mouse upon release.
+     */
+    protected void onGroupRelease(List<Node> group, Node node, Point mousePoint) {
+        onRelease(node, mousePoint);
+    }
+
+    /**
+     * Called by {@link OrganizablePane#setNodeOrder(List)} to record
+     * the new order of the children, before they are ordered.
+     * <p>
+     * By default, this method is empty and can be overridden as an
+     * API hook. Any override SHOULD call the super method.
+     *
+     * @param order the children of this, in their new order.
+     */
+    protected void applyNodeOrder(List<Node> order) {
+
+    }
+
     /**
      * Called after a child {@link Node} is a added or removed from
-     * this.
+     * this, once per {@link OrganizablePane#batchUpdate(Runnable)}.
      * <p>
      * By default, this method is empty and can be overridden as an
      * API hook. Any override SHOULD call the super method.
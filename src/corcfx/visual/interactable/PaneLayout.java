@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.visual.interactable;
+
+/**
+ * Computes the positions of the slots of a
+ * {@link LayoutOrganizablePane}.
+ * <p>
+ * Implementations SHOULD be immutable, so that a single instance can
+ * be shared between panes.
+ */
+public interface PaneLayout {
+
+    /**
+     * Computes the positions of the slots from the specified index
+     * up to the last slot, using
+     * {@link LayoutSlots#setPosition(int, double, double, double)}.
+     * <p>
+     * Slots before the specified index have already been positioned
+     * and MAY be read to continue from them.
+     *
+     * @param slots the slots to position.
+     * @param from  the first slot that needs a new position.
+     */
+    void layout(LayoutSlots slots, int from);
+
+    /**
+     * Returns the slot that a child {@link javafx.scene.Node}
+     * released at the specified layout position belongs in.
+     *
+     * @param slots the slots, positioned by the last call to
+     *              {@link PaneLayout#layout(LayoutSlots, int)}.
+     * @param x     the layoutX of the released Node.
+     * @param y     the layoutY of the released Node.
+     * @return the index of the slot, between 0 and the last slot.
+     */
+    int slotAt(LayoutSlots slots, double x, double y);
+
+    /**
+     * Returns whether the position of every slot depends on the number
+     * of slots, in which case adding or removing any slot requires all
+     * slots to be positioned again.
+     * <p>
+     * By default, this method returns false.
+     *
+     * @return true if every slot depends on the number of slots.
+     */
+    default boolean isCountDependent() {
+        return false;
+    }
+}
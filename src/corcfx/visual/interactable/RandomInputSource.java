@@ -0,0 +1,65 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.visual.interactable;
+
+import corc.structure.ICard;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * An {@link InputSource} that answers every prompt with a random
+ * option and every card selection with a single random card.
+ * <p>
+ * Using the same seed gives the same answers for the same sequence of
+ * prompts, so that failing runs can be repeated.
+ * <p>
+ * This class is thread-safe.
+ */
+public class RandomInputSource implements InputSource {
+
+    private final Random RANDOM;
+
+    /**
+     * Creates a RandomInputSource with the specified seed.
+     *
+     * @param seed the seed of the random answers.
+     */
+    public RandomInputSource(long seed) {
+        this.RANDOM = new Random(seed);
+    }
+
+    @Override
+    public synchronized <T> T chooseOption(String title, List<T> options) {
+        if (options.isEmpty()) {
+            return null;
+        }
+        return options.get(this.RANDOM.nextInt(options.size()));
+    }
+
+    @Override
+    public synchronized <C extends ICard> List<C> chooseCards(List<C> cards) {
+        if (cards.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(cards.get(this.RANDOM.nextInt(cards.size())));
+    }
+}
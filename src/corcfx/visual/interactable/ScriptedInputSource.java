@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.visual.interactable;
+
+import corc.structure.ICard;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * An {@link InputSource} that answers with a script of option and
+ * card indexes, in the order they were added.
+ * <p>
+ * Option prompts and card selections are scripted separately. Once a
+ * script has run out, the user is waited on instead.
+ * <p>
+ * This class is thread-safe.
+ */
+public class ScriptedInputSource implements InputSource {
+
+    private final Queue<Integer> OPTION_SCRIPT = new ConcurrentLinkedQueue<>();
+    private final Queue<int[]> CARD_SCRIPT = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Adds the answer to a future option prompt.
+     *
+     * @param optionIndex the index of the option to choose.
+     * @return this, for chaining.
+     */
+    public ScriptedInputSource thenOption(int optionIndex) {
+        this.OPTION_SCRIPT.add(optionIndex);
+        return this;
+    }
+
+    /**
+     * Adds the answer to a future card selection.
+     *
+     * @param cardIndexes the indexes of the cards to select, in the
+     *                    order of {@link HumanVisualHand#getCards()}.
+     * @return this, for chaining.
+     */
+    public ScriptedInputSource thenCards(int... cardIndexes) {
+        this.CARD_SCRIPT.add(cardIndexes.clone());
+        return this;
+    }
+
+    /**
+     * Gets the number of scripted answers that have not been used.
+     *
+     * @return the number of remaining answers.
+     */
+    public int getRemaining() {
+        return this.OPTION_SCRIPT.size() + this.CARD_SCRIPT.size();
+    }
+
+    @Override
+    public <T> T chooseOption(String title, List<T> options) {
+        Integer index = this.OPTION_SCRIPT.poll();
+        return index == null ? null : options.get(index);
+    }
+
+    @Override
+    public <C extends ICard> List<C> chooseCards(List<C> cards) {
+        int[] indexes = this.CARD_SCRIPT.poll();
+        if (indexes == null) {
+            return null;
+        }
+        List<C> chosen = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            chosen.add(cards.get(index));
+        }
+        return chosen;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.visual.interactable;
+
+/**
+ * A {@link PaneLayout} which stacks slots from top to bottom, such as
+ * a solitaire tableau column.
+ */
+public class VerticalLayout implements PaneLayout {
+
+    private final double VERTICAL_SPACING;
+
+    /**
+     * Creates a column layout.
+     *
+     * @param spacing the spacing between the bottom of a slot and the
+     *                top of the next slot. Negative values overlap
+     *                the slots.
+     */
+    public VerticalLayout(double spacing) {
+        this.VERTICAL_SPACING = spacing;
+    }
+
+    @Override
+    public void layout(LayoutSlots slots, int from) {
+        double y = 0;
+        if (from > 0) {
+            y = slots.getY(from - 1) + slots.getHeight(from - 1) + this.VERTICAL_SPACING;
+        }
+        for (int i = from; i < slots.size(); i++) {
+            slots.setPosition(i, 0, y, 0);
+            y += slots.getHeight(i) + this.VERTICAL_SPACING;
+        }
+    }
+
+    @Override
+    public int slotAt(LayoutSlots slots, double x, double y) {
+        return slots.closestIndexByY(y);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.visual.interactable;
+
+import corcfx.Point;
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+
+/**
+ * A user interactable {@link Pane} that stacks its children in a
+ * column, such as a solitaire tableau, and allows them to be
+ * reordered by clicking and dragging.
+ * <p>
+ * Placing Nodes vertically, with a horizontal shift when selected.
+ */
+public class VerticalOrganizablePane extends LayoutOrganizablePane {
+
+    private final double SELECTED_HORIZONTAL_SHIFT;
+
+    /**
+     * Creates a {@link Pane} that can have its children
+     * reordered by the user by clicking and dragging the
+     * child {@link Node}s.
+     *
+     * @param spacing         the spacing between each child Node.
+     *                        Negative values overlap the children.
+     * @param horizontalShift the amount to horizontally shift the
+     *                        selected Node.
+     */
+    public VerticalOrganizablePane(double spacing, double horizontalShift) {
+        super(new VerticalLayout(spacing));
+        this.SELECTED_HORIZONTAL_SHIFT = horizontalShift;
+    }
+
+    /**
+     * Unshift the node.
+     *
+     * @param node the Node to reset.
+     */
+    @Override
+    protected void resetSelectedNode(Node node) {
+        super.resetSelectedNode(node);
+        node.setTranslateX(0);
+    }
+
+    /**
+     * Shifts the node by the horizontal shift specified in the
+     * constructor.
+     *
+     * @param node the Node that had the primary mouse button pressed on.
+     */
+    @Override
+    protected void nodeSelected(Node node) {
+        super.nodeSelected(node);
+        node.setTranslateX(this.SELECTED_HORIZONTAL_SHIFT);
+    }
+
+    /**
+     * Allows the Node to be dragged vertically.
+     *
+     * @param node             the Node that is being dragged by
+     *                         the mouse.
+     * @param newMouseLocation the new location of the mouse since
+     *                         the previous call to this method.
+     * @param oldMouseLocation the location of the mouse from the
+     *                         previous call to this method.
+     */
+    @Override
+    protected void moveNode(Node node, Point newMouseLocation, Point oldMouseLocation) {
+        node.setLayoutY(node.getLayoutY() + newMouseLocation.Y - oldMouseLocation.Y);
+    }
+}
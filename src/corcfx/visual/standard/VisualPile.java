@@ -0,0 +1,52 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package corcfx.visual.standard;
+
+import corc.base.standard.Card;
+import corcfx.visual.CardUrlResolver;
+
+/**
+ * A wrapper class for {@link corcfx.visual.VisualPile} that uses
+ * the standard {@link Card}.
+ */
+public class VisualPile extends corcfx.visual.VisualPile<Card> {
+
+    /**
+     * Constructs a face-down {@link corcfx.visual.VisualPile} that
+     * uses the standard {@link Card} and shows only its top card.
+     */
+    public VisualPile() {
+        super(CardUrlResolver.STANDARD_CARD_RESOLVER);
+    }
+
+    /**
+     * Constructs a {@link corcfx.visual.VisualPile} that uses the
+     * standard {@link Card}.
+     *
+     * @param shownCards the number of cards to show from the top of
+     *                   the pile; at least 1.
+     * @param faceUp     true to show the fronts of the cards, false
+     *                   for the backs.
+     */
+    public VisualPile(int shownCards, boolean faceUp) {
+        super(CardUrlResolver.STANDARD_CARD_RESOLVER, shownCards, faceUp);
+    }
+}
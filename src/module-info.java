@@ -0,0 +1,53 @@
+/*
+ * Copyright 2019, Cordell Stocker (cordellstocker@gmail.com)
+ * All rights reserved.
+ *
+ * This file is part of CORCFX.
+ *
+ *     CORCFX is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CORCFX is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CORCFX.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+/**
+ * The CORCFX module: JavaFX views for the Cards of CORC.
+ * <p>
+ * CORC does not declare a module, so it is required as the automatic
+ * module named after its jar, {@code CORC}. It is required
+ * transitively, as the cards of CORC are part of the API of CORCFX;
+ * the warnings javac gives for depending on an automatic module are
+ * suppressed until CORC declares a module.
+ * <p>
+ * The Flight Recorder events of {@code corcfx.jfr} extend
+ * {@link jdk.jfr.Event}, so {@code jdk.jfr} is required transitively
+ * as well.
+ * <p>
+ * The card images are opened so that {@link javafx.scene.image.Image}
+ * can load them by their resource path.
+ */
+@SuppressWarnings({"requires-automatic", "requires-transitive-automatic"})
+module corcfx {
+    requires transitive javafx.controls;
+    requires transitive CORC;
+    requires transitive jdk.jfr;
+
+    exports corcfx;
+    exports corcfx.experimental;
+    exports corcfx.jfr;
+    exports corcfx.structure;
+    exports corcfx.visual;
+    exports corcfx.visual.interactable;
+    exports corcfx.visual.standard;
+    exports corcfx.visual.standard.interactable;
+
+    opens corcfx.resources;
+}